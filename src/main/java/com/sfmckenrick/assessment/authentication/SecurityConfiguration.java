@@ -92,8 +92,14 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         // Configure Route access
         http.csrf().disable()
                 .authorizeRequests()
-                    .antMatchers("/v1/get-person/**").hasAnyAuthority(Authority.READ, Authority.WRITE)
-                    .antMatchers("/v1/delete-person/**", "/v1/post-person/**").hasAuthority(Authority.WRITE)
+                    .antMatchers("/v1/get-person/**", "/v1/get-persons/**", "/v1/get-person-profile/**",
+                            "/v1/get-address/**", "/v1/persons/**", "/v1/query-club-members/**",
+                            "/v1/get-co-members/**")
+                            .hasAnyAuthority(Authority.READ, Authority.WRITE)
+                    .antMatchers("/v1/delete-person/**", "/v1/post-person/**", "/v1/post-persons/**",
+                            "/v1/export-persons/**", "/v1/post-club-memberships/**",
+                            "/v1/put-club-members/**", "/v1/patch-person/**",
+                            "/v1/get-person-cache-statistics/**").hasAuthority(Authority.WRITE)
                     .antMatchers("/v1/auth/token/**").permitAll()
                     .anyRequest().denyAll();
 
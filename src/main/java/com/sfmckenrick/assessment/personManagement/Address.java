@@ -1,7 +1,10 @@
 package com.sfmckenrick.assessment.personManagement;
 
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.util.Objects;
@@ -13,10 +16,12 @@ import java.util.Objects;
 @Table(name = "address")
 public class Address {
     /**
-     * Auto-generated identifier.
+     * Auto-generated identifier. Drawn from the address_seq sequence or a snowflake generator, see EntityIdGenerator.
      */
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "address_id")
+    @GenericGenerator(name = "address_id", strategy = "com.sfmckenrick.assessment.personManagement.generator.EntityIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "address_seq"))
     private Long id;
 
     /**
@@ -51,6 +56,13 @@ public class Address {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Person person;
 
+    /**
+     * The version of this address, incremented by every update. An update made from an older version is rejected.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     /**
      * Constructor for serialization.
      */
@@ -72,6 +84,18 @@ public class Address {
         this.person = person;
     }
 
+    /**
+     * Copy Constructor. The copy is detached, with the same ID and version as the original, and belongs to the
+     * supplied copy of its Person.
+     * @param address - The Address to copy.
+     * @param person - The copy of the Person where the address belongs.
+     */
+    Address(Address address, Person person) {
+        this(address.street, address.city, address.state, address.zipcode, person);
+        this.id = address.id;
+        this.version = address.version;
+    }
+
     /**
      * ID Accessor.
      * @return The primary key identifier.
@@ -152,6 +176,22 @@ public class Address {
         return person;
     }
 
+    /**
+     * Version Accessor.
+     * @return The version of the address.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version to the supplied value. An update must carry the version it was read at.
+     * @param version - The version the update was read at.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
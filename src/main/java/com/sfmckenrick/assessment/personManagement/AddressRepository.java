@@ -1,8 +1,12 @@
 package com.sfmckenrick.assessment.personManagement;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Interface that handles the CRUD operations on the data store.
@@ -18,8 +22,55 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
     List<Address> findByPersonId(Long personId);
 
     /**
-     * Deletes all Addresses who have a common Person.
+     * Finds a Person together with each of their Addresses in a single query.
      * @param personId - The id of the Person to search.
+     * @return One [Person, Address] row per Address, a single [Person, null] row if the Person has no Addresses,
+     * or no rows if the Person does not exist.
      */
-    void deleteAddressByPersonId(Long personId);
+    @Query("select p, a from Person p left join Address a on a.person = p where p.id = :personId")
+    List<Object[]> findPersonWithAddresses(@Param("personId") Long personId);
+
+    /**
+     * Gets an Address as a view, with its version, without loading the entity or its Person.
+     * @param id - The ID of the Address.
+     * @return The Address, if it exists.
+     */
+    @Query("select new com.sfmckenrick.assessment.personManagement.AddressView(a.id, a.street, a.city, a.state, "
+            + "a.zipcode, a.person.id, a.version) from Address a where a.id = :id")
+    Optional<AddressView> findViewById(@Param("id") Long id);
+
+    /**
+     * Gets only the version of an Address, without reading any other column.
+     * @param id - The ID of the Address.
+     * @return The version of the Address, if it exists.
+     */
+    @Query("select a.version from Address a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Gets the Addresses of a Person as views, in ID order, without loading the entities or the Person.
+     * @param personId - The id of the Person to search.
+     * @return The Addresses of the Person.
+     */
+    @Query("select new com.sfmckenrick.assessment.personManagement.AddressView(a.id, a.street, a.city, a.state, "
+            + "a.zipcode, a.person.id) from Address a where a.person.id = :personId order by a.id")
+    List<AddressView> findViewsByPersonId(@Param("personId") Long personId);
+
+    /**
+     * Deletes all Addresses who have a common Person with a single statement, without loading them first.
+     * @param personId - The id of the Person to search.
+     * @return The number of Addresses deleted.
+     */
+    @Modifying
+    @Query("delete from Address a where a.person.id = :personId")
+    int deleteAddressByPersonId(@Param("personId") Long personId);
+
+    /**
+     * Deletes an Address with a single statement, without loading it first.
+     * @param id - The ID of the Address to delete.
+     * @return The number of Addresses deleted, 0 if the Address did not exist.
+     */
+    @Modifying
+    @Query("delete from Address a where a.id = :id")
+    int removeById(@Param("id") Long id);
 }
@@ -0,0 +1,135 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Immutable read model of an Address, built directly from query results without loading the entity or its Person.
+ */
+public class AddressView {
+
+    /**
+     * The primary key identifier.
+     */
+    private final Long id;
+
+    /**
+     * The street address.
+     */
+    private final String street;
+
+    /**
+     * The city of the address.
+     */
+    private final String city;
+
+    /**
+     * The state of the address.
+     */
+    private final State state;
+
+    /**
+     * The zipcode of the address.
+     */
+    private final String zipcode;
+
+    /**
+     * The ID of the person where this address belongs.
+     */
+    private final Long personId;
+
+    /**
+     * The version of this address when it was read, or null if it was not read. Sent as the ETag, not in the body.
+     */
+    private final Long version;
+
+    /**
+     * Constructor. Used by JPQL constructor expressions.
+     * @param id - The primary key identifier.
+     * @param street - Street address.
+     * @param city - The city of the address.
+     * @param state - The state of the address.
+     * @param zipcode - The zipcode of the address.
+     * @param personId - The ID of the person where this address belongs.
+     */
+    public AddressView(Long id, String street, String city, State state, String zipcode, Long personId) {
+        this(id, street, city, state, zipcode, personId, null);
+    }
+
+    /**
+     * Constructor. Used by JPQL constructor expressions.
+     * @param id - The primary key identifier.
+     * @param street - Street address.
+     * @param city - The city of the address.
+     * @param state - The state of the address.
+     * @param zipcode - The zipcode of the address.
+     * @param personId - The ID of the person where this address belongs.
+     * @param version - The version of the address.
+     */
+    public AddressView(Long id, String street, String city, State state, String zipcode, Long personId,
+                       Long version) {
+        this.id = id;
+        this.street = street;
+        this.city = city;
+        this.state = state;
+        this.zipcode = zipcode;
+        this.personId = personId;
+        this.version = version;
+    }
+
+    /**
+     * ID Accessor.
+     * @return The primary key identifier.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Street Accessor.
+     * @return The street address.
+     */
+    public String getStreet() {
+        return street;
+    }
+
+    /**
+     * City Accessor.
+     * @return The city name.
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * State Accessor.
+     * @return The state.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Zipcode Accessor.
+     * @return The zipcode.
+     */
+    public String getZipcode() {
+        return zipcode;
+    }
+
+    /**
+     * Person ID Accessor.
+     * @return The ID of the person where this address belongs.
+     */
+    public Long getPersonId() {
+        return personId;
+    }
+
+    /**
+     * Version Accessor.
+     * @return The version of the address when it was read, or null if it was not read.
+     */
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * The outcome of saving a single chunk of a bulk Person upload.
+ * Every chunk is committed or rolled back as a unit.
+ */
+public class BulkSaveChunk {
+
+    /**
+     * The zero-based position of this chunk within the upload.
+     */
+    private final int index;
+
+    /**
+     * The number of records read into this chunk.
+     */
+    private final int size;
+
+    /**
+     * True if the chunk was committed.
+     */
+    private final boolean saved;
+
+    /**
+     * The reason the chunk was rejected, or null if it was saved.
+     */
+    private final String error;
+
+    /**
+     * Constructor.
+     * @param index - The position of the chunk within the upload.
+     * @param size - The number of records in the chunk.
+     * @param saved - True if the chunk was committed.
+     * @param error - The reason the chunk was rejected, or null.
+     */
+    public BulkSaveChunk(int index, int size, boolean saved, String error) {
+        this.index = index;
+        this.size = size;
+        this.saved = saved;
+        this.error = error;
+    }
+
+    /**
+     * Index Accessor.
+     * @return The position of the chunk within the upload.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Size Accessor.
+     * @return The number of records in the chunk.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Saved Accessor.
+     * @return True if the chunk was committed.
+     */
+    public boolean isSaved() {
+        return saved;
+    }
+
+    /**
+     * Error Accessor.
+     * @return The reason the chunk was rejected, or null if it was saved.
+     */
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk Person upload, reported chunk by chunk.
+ */
+public class BulkSaveResult {
+
+    /**
+     * The outcome of every chunk, in upload order.
+     */
+    private final List<BulkSaveChunk> chunks = new ArrayList<>();
+
+    /**
+     * The number of records that were committed.
+     */
+    private long saved;
+
+    /**
+     * The number of records that were rolled back.
+     */
+    private long rejected;
+
+    /**
+     * Records the outcome of a chunk.
+     * @param chunk - The chunk outcome to add.
+     */
+    void addChunk(BulkSaveChunk chunk) {
+        chunks.add(chunk);
+        if (chunk.isSaved()) {
+            saved += chunk.getSize();
+        } else {
+            rejected += chunk.getSize();
+        }
+    }
+
+    /**
+     * Chunks Accessor.
+     * @return The outcome of every chunk, in upload order.
+     */
+    public List<BulkSaveChunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Saved Accessor.
+     * @return The number of records that were committed.
+     */
+    public long getSaved() {
+        return saved;
+    }
+
+    /**
+     * Rejected Accessor.
+     * @return The number of records that were rolled back.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,73 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * Snapshot of the counters of an in-process cache.
+ */
+public class CacheStatistics {
+
+    /**
+     * The number of lookups answered from the cache.
+     */
+    private final long hits;
+
+    /**
+     * The number of lookups that had to be loaded.
+     */
+    private final long misses;
+
+    /**
+     * The number of entries removed to honour the size or time limits.
+     */
+    private final long evictions;
+
+    /**
+     * The approximate number of entries currently held.
+     */
+    private final long size;
+
+    /**
+     * Constructor.
+     * @param hits - The number of lookups answered from the cache.
+     * @param misses - The number of lookups that had to be loaded.
+     * @param evictions - The number of entries removed to honour the limits.
+     * @param size - The approximate number of entries currently held.
+     */
+    public CacheStatistics(long hits, long misses, long evictions, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    /**
+     * Hits Accessor.
+     * @return The number of lookups answered from the cache.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Misses Accessor.
+     * @return The number of lookups that had to be loaded.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Evictions Accessor.
+     * @return The number of entries removed to honour the size or time limits.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Size Accessor.
+     * @return The approximate number of entries currently held.
+     */
+    public long getSize() {
+        return size;
+    }
+}
@@ -1,5 +1,7 @@
 package com.sfmckenrick.assessment.personManagement;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import javax.persistence.*;
 import java.util.Objects;
 
@@ -12,10 +14,18 @@ import java.util.Objects;
 public class Club {
 
     /**
-     * The Name of the club.
+     * The surrogate key of the club. Drawn from an identity column so that IDs stay small and dense, as they
+     * index the in-memory membership structures. Clients address clubs by name only.
      */
     @Id
-    @Column
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Integer id;
+
+    /**
+     * The Name of the club.
+     */
+    @Column(nullable = false, unique = true)
     private String name;
 
     @Override
@@ -37,6 +47,14 @@ public class Club {
     @Column
     private String description;
 
+    /**
+     * The version of this club, incremented by every update. An update made from an older version is rejected.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonIgnore
+    private long version;
+
     /**
      * Serialization Constructor.
      */
@@ -52,6 +70,32 @@ public class Club {
         this.description = description;
     }
 
+    /**
+     * Copy Constructor. The copy is detached, with the same ID and version as the original.
+     * @param club - The Club to copy.
+     */
+    Club(Club club) {
+        this(club.name, club.description);
+        this.id = club.id;
+        this.version = club.version;
+    }
+
+    /**
+     * Club ID accessor.
+     * @return The surrogate key of the club, or null if it has not been saved.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID to the supplied value.
+     * @param id - The surrogate key of the club.
+     */
+    void setId(Integer id) {
+        this.id = id;
+    }
+
     /**
      * Club name accessor.
      * @return The name of the club.
@@ -83,4 +127,20 @@ public class Club {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    /**
+     * Club version accessor.
+     * @return The version of the club.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version to the supplied value.
+     * @param version - The version the update was read at.
+     */
+    void setVersion(long version) {
+        this.version = version;
+    }
 }
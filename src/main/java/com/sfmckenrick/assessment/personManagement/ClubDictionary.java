@@ -0,0 +1,131 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.sfmckenrick.assessment.personManagement.exception.ClubNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process dictionary from Club names to their integer IDs.
+ * Clients address Clubs by name while the membership table and index are keyed by ID, so every name is resolved
+ * here without a query. The dictionary holds every Club: it is loaded from the database at startup and kept in
+ * sync by the service, with every change applied once its transaction has committed.
+ */
+@Component
+public class ClubDictionary {
+
+    /**
+     * The ID of each Club, by name.
+     */
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    /**
+     * The name of each Club, by ID, so that a renamed Club's old name can be dropped.
+     */
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    /**
+     * The configured repository for the Club entity.
+     */
+    private final ClubRepository clubRepository;
+
+    /**
+     * Constructor.
+     * @param clubRepository - The repository to read Clubs from.
+     */
+    @Autowired
+    public ClubDictionary(ClubRepository clubRepository) {
+        this.clubRepository = clubRepository;
+    }
+
+    /**
+     * Loads every Club name and ID from the database.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        idsByName.clear();
+        namesById.clear();
+        for (Object[] row : clubRepository.findAllIdsAndNames()) {
+            put(((Number) row[0]).intValue(), (String) row[1]);
+        }
+    }
+
+    /**
+     * Finds the ID of a Club.
+     * @param name - The name of the Club.
+     * @return The ID of the Club, or null if it does not exist.
+     */
+    public Integer find(String name) {
+        return name == null ? null : idsByName.get(name);
+    }
+
+    /**
+     * Gets the ID of a Club.
+     * @param name - The name of the Club.
+     * @return The ID of the Club.
+     * @throws ClubNotFoundException - If the Club does not exist.
+     */
+    public int getId(String name) {
+        Integer id = find(name);
+        if (id == null) {
+            throw new ClubNotFoundException(name);
+        }
+        return id;
+    }
+
+    /**
+     * Records a saved, possibly renamed, Club once the current transaction commits.
+     * @param name - The name of the Club.
+     * @param id - The ID of the Club.
+     */
+    public void clubSaved(String name, int id) {
+        TransactionHooks.afterCommit(() -> put(id, name));
+    }
+
+    /**
+     * Records a deleted Club once the current transaction commits.
+     * @param name - The name of the Club.
+     */
+    public void clubDeleted(String name) {
+        TransactionHooks.afterCommit(() -> remove(name));
+    }
+
+    /**
+     * Empties the dictionary once the current transaction commits.
+     */
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                idsByName.clear();
+                namesById.clear();
+            }
+        });
+    }
+
+    /**
+     * Adds or renames a Club.
+     * @param id - The ID of the Club.
+     * @param name - The name of the Club.
+     */
+    private synchronized void put(int id, String name) {
+        String previous = namesById.put(id, name);
+        if (previous != null && !previous.equals(name)) {
+            idsByName.remove(previous, id);
+        }
+        idsByName.put(name, id);
+    }
+
+    /**
+     * Removes a Club.
+     * @param name - The name of the Club.
+     */
+    private synchronized void remove(String name) {
+        Integer id = idsByName.remove(name);
+        if (id != null) {
+            namesById.remove(id, name);
+        }
+    }
+}
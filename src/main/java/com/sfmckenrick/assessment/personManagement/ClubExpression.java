@@ -0,0 +1,295 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.sfmckenrick.assessment.personManagement.exception.InvalidClubExpressionException;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+/**
+ * A parsed set-algebra expression over the members of Clubs, such as {@code "Club A" AND "Club B" ANDNOT Chess}.
+ * <p>
+ * Operands are Club names, either bare words or double quoted (with {@code \"} and {@code \\} escapes) when they
+ * contain spaces, parentheses or quotes, or are themselves an operator word. The operators, case-insensitive, are
+ * {@code AND}, {@code ANDNOT} and {@code OR}. {@code AND} and {@code ANDNOT} bind tighter than {@code OR}, all are
+ * left associative, and parentheses group. Parentheses may be nested at most MAX_DEPTH deep.
+ */
+public abstract class ClubExpression {
+
+    /**
+     * The deepest that parentheses may be nested. Parsing and evaluation recurse once per level.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * The set operations between two expressions.
+     */
+    private enum Operator {
+        AND, ANDNOT, OR
+    }
+
+    private ClubExpression() {}
+
+    /**
+     * Parses an expression.
+     * @param expression - The expression to parse.
+     * @return The parsed expression.
+     * @throws InvalidClubExpressionException - If the expression is not well formed.
+     */
+    public static ClubExpression parse(String expression) {
+        if (expression == null) {
+            throw new InvalidClubExpressionException("", "expression is empty");
+        }
+        Parser parser = new Parser(expression);
+        ClubExpression parsed = parser.parseOr();
+        if (parser.peek() != null) {
+            throw parser.error("unexpected '" + parser.peek() + "'");
+        }
+        return parsed;
+    }
+
+    /**
+     * Evaluates this expression into a new bitmap that the caller may modify.
+     * @param members - Gets the members of a Club by name. The returned bitmaps are never modified.
+     * @return The IDs of the Persons matching this expression.
+     */
+    public abstract Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> members);
+
+    /**
+     * Evaluates this expression into a bitmap that the caller must not modify, avoiding a copy where possible.
+     * @param members - Gets the members of a Club by name.
+     * @return The IDs of the Persons matching this expression.
+     */
+    abstract Roaring64NavigableMap view(Function<String, Roaring64NavigableMap> members);
+
+    /**
+     * The members of a single Club.
+     */
+    private static final class Operand extends ClubExpression {
+
+        private final String name;
+
+        private Operand(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> members) {
+            Roaring64NavigableMap copy = new Roaring64NavigableMap();
+            copy.or(members.apply(name));
+            return copy;
+        }
+
+        @Override
+        Roaring64NavigableMap view(Function<String, Roaring64NavigableMap> members) {
+            return members.apply(name);
+        }
+    }
+
+    /**
+     * A set operation between two expressions.
+     */
+    private static final class Binary extends ClubExpression {
+
+        private final Operator operator;
+
+        private final ClubExpression left;
+
+        private final ClubExpression right;
+
+        private Binary(Operator operator, ClubExpression left, ClubExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Evaluates a chain of operations iteratively. Operators are left associative, so a long chain nests to
+         * the left, and recursing down it could overflow the stack where parentheses are not involved.
+         */
+        @Override
+        public Roaring64NavigableMap evaluate(Function<String, Roaring64NavigableMap> members) {
+            Deque<Binary> chain = new ArrayDeque<>();
+            ClubExpression first = this;
+            while (first instanceof Binary) {
+                chain.push((Binary) first);
+                first = ((Binary) first).left;
+            }
+            Roaring64NavigableMap result = first.evaluate(members);
+            while (!chain.isEmpty()) {
+                chain.pop().apply(result, members);
+            }
+            return result;
+        }
+
+        /**
+         * Applies this operation to the evaluated left hand side.
+         * @param result - The members matching the left hand side, updated in place.
+         * @param members - Gets the members of a Club by name.
+         */
+        private void apply(Roaring64NavigableMap result, Function<String, Roaring64NavigableMap> members) {
+            switch (operator) {
+                case AND:
+                    result.and(right.view(members));
+                    break;
+                case ANDNOT:
+                    result.andNot(right.view(members));
+                    break;
+                default:
+                    result.or(right.view(members));
+            }
+        }
+
+        @Override
+        Roaring64NavigableMap view(Function<String, Roaring64NavigableMap> members) {
+            return evaluate(members);
+        }
+    }
+
+    /**
+     * Recursive descent parser over the expression text.
+     */
+    private static final class Parser {
+
+        private final String text;
+
+        private int position;
+
+        private int depth;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        /**
+         * expression := term (OR term)*
+         */
+        private ClubExpression parseOr() {
+            ClubExpression result = parseAnd();
+            while (acceptOperator(Operator.OR)) {
+                result = new Binary(Operator.OR, result, parseAnd());
+            }
+            return result;
+        }
+
+        /**
+         * term := operand ((AND | ANDNOT) operand)*
+         */
+        private ClubExpression parseAnd() {
+            ClubExpression result = parseOperand();
+            while (true) {
+                if (acceptOperator(Operator.AND)) {
+                    result = new Binary(Operator.AND, result, parseOperand());
+                } else if (acceptOperator(Operator.ANDNOT)) {
+                    result = new Binary(Operator.ANDNOT, result, parseOperand());
+                } else {
+                    return result;
+                }
+            }
+        }
+
+        /**
+         * operand := name | "quoted name" | ( expression )
+         */
+        private ClubExpression parseOperand() {
+            String token = peek();
+            if (token == null) {
+                throw error("expected a club name");
+            }
+            if (token.equals("(")) {
+                if (depth == MAX_DEPTH) {
+                    throw error("parentheses nested deeper than " + MAX_DEPTH);
+                }
+                position++;
+                depth++;
+                ClubExpression inner = parseOr();
+                if (!")".equals(peek())) {
+                    throw error("expected ')'");
+                }
+                position++;
+                depth--;
+                return inner;
+            }
+            if (token.equals(")") || isOperator(token)) {
+                throw error("expected a club name but found '" + token + "'");
+            }
+            if (token.startsWith("\"")) {
+                return new Operand(readQuoted());
+            }
+            position += token.length();
+            return new Operand(token);
+        }
+
+        /**
+         * Consumes the next token if it is the supplied operator.
+         */
+        private boolean acceptOperator(Operator operator) {
+            String token = peek();
+            if (token != null && token.equalsIgnoreCase(operator.name())) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Skips whitespace and returns the raw text of the next token without consuming it, or null at the end.
+         * A quoted name is returned as just its opening quote.
+         */
+        private String peek() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            if (position == text.length()) {
+                return null;
+            }
+            char c = text.charAt(position);
+            if (c == '(' || c == ')' || c == '"') {
+                return String.valueOf(c);
+            }
+            int end = position;
+            while (end < text.length() && !isDelimiter(text.charAt(end))) {
+                end++;
+            }
+            return text.substring(position, end);
+        }
+
+        /**
+         * Reads a quoted name starting at the current position.
+         */
+        private String readQuoted() {
+            StringBuilder name = new StringBuilder();
+            int i = position + 1;
+            while (i < text.length()) {
+                char c = text.charAt(i++);
+                if (c == '"') {
+                    position = i;
+                    return name.toString();
+                }
+                if (c == '\\' && i < text.length()) {
+                    c = text.charAt(i++);
+                }
+                name.append(c);
+            }
+            throw error("unterminated quoted name");
+        }
+
+        private boolean isOperator(String token) {
+            for (Operator operator : Operator.values()) {
+                if (token.equalsIgnoreCase(operator.name())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isDelimiter(char c) {
+            return Character.isWhitespace(c) || c == '(' || c == ')' || c == '"';
+        }
+
+        private InvalidClubExpressionException error(String reason) {
+            return new InvalidClubExpressionException(text, reason + " at position " + position);
+        }
+    }
+}
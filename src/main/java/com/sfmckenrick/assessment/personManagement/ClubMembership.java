@@ -32,8 +32,8 @@ public class ClubMembership {
      * The club in which this person belongs.
      */
     @ManyToOne
-    @MapsId("clubName")
-    @JoinColumn(name = "club_name")
+    @MapsId("clubId")
+    @JoinColumn(name = "club_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Club club;
 
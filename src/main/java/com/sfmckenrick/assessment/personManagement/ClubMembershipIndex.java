@@ -0,0 +1,424 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.sfmckenrick.assessment.personManagement.exception.ClubNotFoundException;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.longlong.LongConsumer;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process index of which Persons belong to which Clubs.
+ * Each Club holds a compressed bitmap of the IDs of its members, in an array indexed by Club ID, and each Person a
+ * compressed bitmap of the IDs of their Clubs. The IDs of all Persons are held in a bitmap of their own, so that
+ * every membership question, including whether the Club or Person exists at all, is answered without going to the
+ * database. Club names are resolved through the ClubDictionary.
+ * <p>
+ * The index is built from the database at startup and kept in sync by the service, with every change applied
+ * once its transaction has committed. Lookups take a read lock.
+ */
+@Component
+public class ClubMembershipIndex {
+
+    /**
+     * The IDs of the members of each Club, indexed by Club ID. Every Club has an entry, even without members;
+     * the entries of IDs without a Club are null.
+     */
+    private Roaring64NavigableMap[] membersByClub = new Roaring64NavigableMap[16];
+
+    /**
+     * The IDs of the Clubs of each Person that belongs to at least one, by Person ID.
+     */
+    private final Map<Long, RoaringBitmap> clubsByPerson = new HashMap<>();
+
+    /**
+     * The IDs of all Persons.
+     */
+    private final Roaring64NavigableMap persons = new Roaring64NavigableMap();
+
+    /**
+     * Guards all of the above.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Resolves Club names to IDs.
+     */
+    private final ClubDictionary clubDictionary;
+
+    /**
+     * The configured repository for the ClubMembership mapping entity.
+     */
+    private final ClubMembershipRepository clubMembershipRepository;
+
+    /**
+     * The configured repository for the Club entity.
+     */
+    private final ClubRepository clubRepository;
+
+    /**
+     * The configured repository for the Person entity.
+     */
+    private final PersonRepository personRepository;
+
+    /**
+     * Template for the read-only transaction the index is built in.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor.
+     * @param clubDictionary - Resolves Club names to IDs.
+     * @param clubMembershipRepository - The repository to read Club/Person mappings from.
+     * @param clubRepository - The repository to read Clubs from.
+     * @param personRepository - The repository to read Persons from.
+     * @param transactionManager - The transaction manager used while building the index.
+     */
+    @Autowired
+    public ClubMembershipIndex(ClubDictionary clubDictionary,
+                               ClubMembershipRepository clubMembershipRepository,
+                               ClubRepository clubRepository,
+                               PersonRepository personRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.clubDictionary = clubDictionary;
+        this.clubMembershipRepository = clubMembershipRepository;
+        this.clubRepository = clubRepository;
+        this.personRepository = personRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index from the current contents of the database.
+     */
+    @PostConstruct
+    public void rebuild() {
+        long stamp = lock.writeLock();
+        try {
+            clearIndex();
+            transactionTemplate.executeWithoutResult(status -> {
+                clubRepository.findAllIds().forEach(this::addClub);
+                try (Stream<Long> ids = personRepository.streamIds()) {
+                    ids.forEach(persons::addLong);
+                }
+                try (Stream<Object[]> rows = clubMembershipRepository.streamAll()) {
+                    rows.forEach(row -> addMember(((Number) row[0]).longValue(), ((Number) row[1]).intValue()));
+                }
+            });
+            persons.runOptimize();
+            for (Roaring64NavigableMap members : membersByClub) {
+                if (members != null) {
+                    members.runOptimize();
+                }
+            }
+            clubsByPerson.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks if a Club exists.
+     * @param clubId - The ID of the Club.
+     * @return True if the Club exists.
+     */
+    public boolean containsClub(int clubId) {
+        long stamp = lock.readLock();
+        try {
+            return members(clubId) != null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if a Person exists.
+     * @param personId - The ID of the Person.
+     * @return True if the Person exists.
+     */
+    public boolean containsPerson(long personId) {
+        long stamp = lock.readLock();
+        try {
+            return persons.contains(personId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if a Person is a member of a Club.
+     * @param personId - The ID of the Person.
+     * @param clubId - The ID of the Club.
+     * @return True if the Person is a member, false if not or if either does not exist.
+     */
+    public boolean isMember(long personId, int clubId) {
+        long stamp = lock.readLock();
+        try {
+            Roaring64NavigableMap members = members(clubId);
+            return members != null && members.contains(personId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Counts the Persons matching a Club expression.
+     * @param expression - The expression to evaluate.
+     * @return The number of matching Persons.
+     * @throws ClubNotFoundException - If the expression names a Club that does not exist.
+     */
+    public long count(ClubExpression expression) {
+        long stamp = lock.readLock();
+        try {
+            return expression.view(this::getMembers).getLongCardinality();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the IDs of the Persons matching a Club expression.
+     * @param expression - The expression to evaluate.
+     * @return The matching IDs, in ascending order.
+     * @throws ClubNotFoundException - If the expression names a Club that does not exist.
+     */
+    public long[] members(ClubExpression expression) {
+        long stamp = lock.readLock();
+        try {
+            return expression.view(this::getMembers).toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Passes the ID of every member of every Club that a Person belongs to, the Person included, to a consumer.
+     * An ID is passed once for each Club it shares with the Person. The consumer runs under the read lock.
+     * @param personId - The ID of the Person.
+     * @param consumer - Receives the member IDs.
+     * @return False if the Person does not exist.
+     */
+    boolean forEachCoMember(long personId, LongConsumer consumer) {
+        long stamp = lock.readLock();
+        try {
+            if (!persons.contains(personId)) {
+                return false;
+            }
+            RoaringBitmap clubs = clubsByPerson.get(personId);
+            if (clubs != null) {
+                clubs.forEach((int clubId) -> membersByClub[clubId].forEach(consumer));
+            }
+            return true;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records a saved Person once the current transaction commits.
+     * @param personId - The ID of the Person.
+     */
+    public void personSaved(long personId) {
+        TransactionHooks.afterCommit(() -> write(() -> persons.addLong(personId)));
+    }
+
+    /**
+     * Records a deleted Person, along with all of their memberships, once the current transaction commits.
+     * @param personId - The ID of the Person.
+     */
+    public void personDeleted(long personId) {
+        TransactionHooks.afterCommit(() -> write(() -> {
+            removePersonMemberships(personId);
+            persons.removeLong(personId);
+        }));
+    }
+
+    /**
+     * Records a saved Club once the current transaction commits.
+     * @param clubId - The ID of the Club.
+     */
+    public void clubSaved(int clubId) {
+        TransactionHooks.afterCommit(() -> write(() -> addClub(clubId)));
+    }
+
+    /**
+     * Records a deleted Club, along with all of its memberships, once the current transaction commits.
+     * @param clubId - The ID of the Club.
+     */
+    public void clubDeleted(int clubId) {
+        TransactionHooks.afterCommit(() -> write(() -> {
+            removeClubMemberships(clubId);
+            if (members(clubId) != null) {
+                membersByClub[clubId] = null;
+            }
+        }));
+    }
+
+    /**
+     * Records a new membership once the current transaction commits.
+     * @param personId - The ID of the Person.
+     * @param clubId - The ID of the Club.
+     */
+    public void memberAdded(long personId, int clubId) {
+        TransactionHooks.afterCommit(() -> write(() -> {
+            // A Person or Club deleted concurrently has already taken its memberships with it.
+            if (persons.contains(personId)) {
+                addMember(personId, clubId);
+            }
+        }));
+    }
+
+    /**
+     * Records a removed membership once the current transaction commits.
+     * @param personId - The ID of the Person.
+     * @param clubId - The ID of the Club.
+     */
+    public void memberRemoved(long personId, int clubId) {
+        TransactionHooks.afterCommit(() -> write(() -> removeMember(personId, clubId)));
+    }
+
+    /**
+     * Records the removal of all memberships of a Person once the current transaction commits.
+     * @param personId - The ID of the Person.
+     */
+    public void personMembershipsRemoved(long personId) {
+        TransactionHooks.afterCommit(() -> write(() -> removePersonMemberships(personId)));
+    }
+
+    /**
+     * Records the removal of all memberships of a Club once the current transaction commits.
+     * @param clubId - The ID of the Club.
+     */
+    public void clubMembershipsRemoved(int clubId) {
+        TransactionHooks.afterCommit(() -> write(() -> removeClubMemberships(clubId)));
+    }
+
+    /**
+     * Empties the index once the current transaction commits.
+     */
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(() -> write(this::clearIndex));
+    }
+
+    /**
+     * Gets the members of a Club. The caller must hold a lock and must not modify the result.
+     * @param clubId - The ID of the Club.
+     * @return The IDs of the members, or null if the Club does not exist.
+     */
+    private Roaring64NavigableMap members(int clubId) {
+        return clubId >= 0 && clubId < membersByClub.length ? membersByClub[clubId] : null;
+    }
+
+    /**
+     * Gets the members of a Club by name. The caller must hold a lock and must not modify the result.
+     * @param clubName - The name of the Club.
+     * @return The IDs of the members.
+     * @throws ClubNotFoundException - If the Club does not exist.
+     */
+    private Roaring64NavigableMap getMembers(String clubName) {
+        Roaring64NavigableMap members = members(clubDictionary.getId(clubName));
+        if (members == null) {
+            throw new ClubNotFoundException(clubName);
+        }
+        return members;
+    }
+
+    /**
+     * Runs a change under the write lock.
+     * @param change - The change to apply.
+     */
+    private void write(Runnable change) {
+        long stamp = lock.writeLock();
+        try {
+            change.run();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds a Club without members if it is not already present. The caller must hold the write lock.
+     * @param clubId - The ID of the Club.
+     */
+    private void addClub(int clubId) {
+        if (clubId >= membersByClub.length) {
+            membersByClub = Arrays.copyOf(membersByClub, Math.max(clubId + 1, membersByClub.length * 2));
+        }
+        if (membersByClub[clubId] == null) {
+            membersByClub[clubId] = new Roaring64NavigableMap();
+        }
+    }
+
+    /**
+     * Adds a membership. The caller must hold the write lock.
+     * @param personId - The ID of the Person.
+     * @param clubId - The ID of the Club.
+     */
+    private void addMember(long personId, int clubId) {
+        Roaring64NavigableMap members = members(clubId);
+        if (members != null) {
+            members.addLong(personId);
+            clubsByPerson.computeIfAbsent(personId, id -> new RoaringBitmap()).add(clubId);
+        }
+    }
+
+    /**
+     * Removes a membership. The caller must hold the write lock.
+     * @param personId - The ID of the Person.
+     * @param clubId - The ID of the Club.
+     */
+    private void removeMember(long personId, int clubId) {
+        Roaring64NavigableMap members = members(clubId);
+        if (members != null) {
+            members.removeLong(personId);
+        }
+        RoaringBitmap clubs = clubsByPerson.get(personId);
+        if (clubs != null) {
+            clubs.remove(clubId);
+            if (clubs.isEmpty()) {
+                clubsByPerson.remove(personId);
+            }
+        }
+    }
+
+    /**
+     * Removes all memberships of a Person. The caller must hold the write lock.
+     * @param personId - The ID of the Person.
+     */
+    private void removePersonMemberships(long personId) {
+        RoaringBitmap clubs = clubsByPerson.remove(personId);
+        if (clubs != null) {
+            clubs.forEach((int clubId) -> membersByClub[clubId].removeLong(personId));
+        }
+    }
+
+    /**
+     * Removes all memberships of a Club. The caller must hold the write lock.
+     * @param clubId - The ID of the Club.
+     */
+    private void removeClubMemberships(int clubId) {
+        Roaring64NavigableMap members = members(clubId);
+        if (members != null) {
+            membersByClub[clubId] = new Roaring64NavigableMap();
+            members.forEach(personId -> removeMember(personId, clubId));
+        }
+    }
+
+    /**
+     * Empties the index. The caller must hold the write lock.
+     */
+    private void clearIndex() {
+        Arrays.fill(membersByClub, null);
+        clubsByPerson.clear();
+        persons.clear();
+    }
+}
@@ -20,8 +20,8 @@ public class ClubMembershipKey implements Serializable {
     @Column(name = "person_id", nullable = false)
     Long personId;
 
-    @Column(name = "club_name", nullable = false)
-    String clubName;
+    @Column(name = "club_id", nullable = false)
+    Integer clubId;
 
     /**
      * Serialization constructor.
@@ -33,11 +33,11 @@ public class ClubMembershipKey implements Serializable {
     /**
      * Constructor.
      * @param personId - The person ID to map.
-     * @param clubName - The Club ID to map.
+     * @param clubId - The Club ID to map.
      */
-    public ClubMembershipKey(long personId, String clubName) {
+    public ClubMembershipKey(long personId, int clubId) {
         this.personId = personId;
-        this.clubName = clubName;
+        this.clubId = clubId;
     }
 
     /**
@@ -58,18 +58,18 @@ public class ClubMembershipKey implements Serializable {
 
     /**
      * Accessor for the Club ID.
-     * @return The name of the mapped Club.
+     * @return The ID of the mapped Club.
      */
-    public String getclubName() {
-        return clubName;
+    public Integer getClubId() {
+        return clubId;
     }
 
     /**
-     * Sets the Club name for this mapping
-     * @param clubName - The Club name to set.
+     * Sets the Club ID for this mapping
+     * @param clubId - The Club ID to set.
      */
-    public void setclubName(String clubName) {
-        this.clubName = clubName;
+    public void setClubId(Integer clubId) {
+        this.clubId = clubId;
     }
 
     @Override
@@ -77,12 +77,12 @@ public class ClubMembershipKey implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ClubMembershipKey that = (ClubMembershipKey) o;
-        return getPersonId().equals(that.getPersonId()) && getclubName().equals(that.getclubName());
+        return getPersonId().equals(that.getPersonId()) && getClubId().equals(that.getClubId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getPersonId(), getclubName());
+        return Objects.hash(getPersonId(), getClubId());
     }
 
 }
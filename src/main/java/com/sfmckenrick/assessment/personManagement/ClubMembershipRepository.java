@@ -1,8 +1,15 @@
 package com.sfmckenrick.assessment.personManagement;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Spring Interface that handles the CRUD operations on the data store.
@@ -11,43 +18,78 @@ import java.util.List;
 public interface ClubMembershipRepository extends JpaRepository<ClubMembership, ClubMembershipKey> {
 
     /**
-     * Finds all Clubs that a Person has membership.
+     * Finds a Person together with all Clubs that they have membership to, in a single query.
      * @param personId - The id of the Person to search.
-     * @return The list of ClubMembership.
+     * @return One [Person, Club] row per membership, a single [Person, null] row if the Person has none, or no
+     * rows if the Person does not exist.
      */
-    List<ClubMembership> findByIdPersonId(Long personId);
+    @Query("select p, c from Person p left join ClubMembership m on m.person = p left join m.club c "
+            + "where p.id = :personId")
+    List<Object[]> findPersonWithClubs(@Param("personId") Long personId);
 
     /**
-     * Finds all Persons who have membership to a specific club.
+     * Finds a Club together with all Persons who have membership to it, in a single query.
      * @param clubName - The name of the Club to search.
-     * @return The list of ClubMembership.
+     * @return One [Club, Person] row per membership, a single [Club, null] row if the Club has none, or no
+     * rows if the Club does not exist.
      */
-    List<ClubMembership> findByIdClubName(String clubName);
+    @Query("select c, p from Club c left join ClubMembership m on m.club = c left join m.person p "
+            + "where c.name = :clubName")
+    List<Object[]> findClubWithPersons(@Param("clubName") String clubName);
 
     /**
-     * Deletes all ClubMemberships belonging to a Person.
+     * Gets the Clubs a Person is a member of as views, in name order, with a single query.
+     * @param personId - The id of the Person to search.
+     * @return The Clubs of the Person.
+     */
+    @Query("select new com.sfmckenrick.assessment.personManagement.ClubView(c.name, c.description) "
+            + "from ClubMembership m join m.club c where m.id.personId = :personId order by c.name")
+    List<ClubView> findClubViewsByPersonId(@Param("personId") Long personId);
+
+    /**
+     * Deletes all ClubMemberships belonging to a Person with a single statement, without loading them first.
      * @param personId - The Person to remove.
+     * @return The number of ClubMemberships deleted.
      */
-    void deleteByIdPersonId(Long personId);
+    @Modifying
+    @Query("delete from ClubMembership m where m.id.personId = :personId")
+    int deleteByIdPersonId(@Param("personId") Long personId);
 
     /**
-     * Deletes all ClubMemberships belonging to a Club.
-     * @param clubName - The Club to remove.
+     * Deletes all ClubMemberships belonging to a Club with a single statement, without loading them first.
+     * @param clubId - The ID of the Club to remove.
+     * @return The number of ClubMemberships deleted.
      */
-    void deleteByIdClubName(String clubName);
+    @Modifying
+    @Query("delete from ClubMembership m where m.id.clubId = :clubId")
+    int deleteByIdClubId(@Param("clubId") Integer clubId);
 
     /**
-     * Checks if the specified relationship exists.
+     * Deletes if the specified relationship exists, with a single statement and without loading it first.
      * @param personId - The Person to check.
-     * @param clubName - The Club to check.
-     * @return True if a relationship exists, false if not.
+     * @param clubId - The ID of the Club to check.
+     * @return The number of ClubMemberships deleted.
      */
-    boolean existsByIdPersonIdAndIdClubName(Long personId, String clubName);
+    @Modifying
+    @Query("delete from ClubMembership m where m.id.personId = :personId and m.id.clubId = :clubId")
+    int deleteByIdPersonIdAndIdClubId(@Param("personId") Long personId, @Param("clubId") Integer clubId);
 
     /**
-     * Deletes if the specified relationship exists.
-     * @param personId - The Person to check.
-     * @param clubName - The Club to check.
+     * Streams every membership as a [personId, clubId] row. Must be consumed and closed within a transaction.
+     * @return All memberships.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select m.id.personId, m.id.clubId from ClubMembership m")
+    Stream<Object[]> streamAll();
+
+    /**
+     * Gets the memberships between any of the supplied Persons and any of the supplied Clubs, in a single query.
+     * @param personIds - The Persons to check.
+     * @param clubIds - The IDs of the Clubs to check.
+     * @return A [personId, clubId] row for each existing membership.
      */
-    void deleteByIdPersonIdAndIdClubName(Long personId, String clubName);
+    @Query("select m.id.personId, m.id.clubId from ClubMembership m "
+            + "where m.id.personId in :personIds and m.id.clubId in :clubIds")
+    List<Object[]> findAmong(@Param("personIds") Collection<Long> personIds,
+                             @Param("clubIds") Collection<Integer> clubIds);
 }
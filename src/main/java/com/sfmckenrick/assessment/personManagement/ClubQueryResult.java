@@ -0,0 +1,43 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * The outcome of evaluating a Club membership expression.
+ */
+public class ClubQueryResult {
+
+    /**
+     * The number of matching Persons.
+     */
+    private final long count;
+
+    /**
+     * The IDs of the matching Persons in ascending order, or null if only the count was requested.
+     */
+    private final long[] personIds;
+
+    /**
+     * Constructor.
+     * @param count - The number of matching Persons.
+     * @param personIds - The IDs of the matching Persons, or null if only the count was requested.
+     */
+    public ClubQueryResult(long count, long[] personIds) {
+        this.count = count;
+        this.personIds = personIds;
+    }
+
+    /**
+     * Count Accessor.
+     * @return The number of matching Persons.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Person IDs Accessor.
+     * @return The IDs of the matching Persons in ascending order, or null if only the count was requested.
+     */
+    public long[] getPersonIds() {
+        return personIds;
+    }
+}
@@ -1,10 +1,55 @@
 package com.sfmckenrick.assessment.personManagement;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Interface that handles the CRUD operations on the data store.
  * @author Scott McKenrick <sbm5967@arl.psu.edu>
  */
-public interface ClubRepository extends JpaRepository<Club, String> {
+public interface ClubRepository extends JpaRepository<Club, Integer> {
+
+    /**
+     * Finds a Club by its name.
+     * @param name - The name of the Club.
+     * @return The Club, if it exists.
+     */
+    Optional<Club> findByName(String name);
+
+    /**
+     * Deletes a Club with a single statement, without loading it first.
+     * @param name - The name of the Club to delete.
+     * @return The number of Clubs deleted, 0 if the Club did not exist.
+     */
+    @Modifying
+    @Query("delete from Club c where c.name = :name")
+    int removeByName(@Param("name") String name);
+
+    /**
+     * Gets the ID of every Club.
+     * @return The IDs of all Clubs.
+     */
+    @Query("select c.id from Club c")
+    List<Integer> findAllIds();
+
+    /**
+     * Gets the ID and name of every Club.
+     * @return An [id, name] row for every Club.
+     */
+    @Query("select c.id, c.name from Club c")
+    List<Object[]> findAllIdsAndNames();
+
+    /**
+     * Gets which of the supplied IDs belong to existing Clubs, in a single query.
+     * @param ids - The IDs to check.
+     * @return The IDs that exist.
+     */
+    @Query("select c.id from Club c where c.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,43 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * Immutable read model of a Club, built directly from query results without loading the entity.
+ */
+public class ClubView {
+
+    /**
+     * The name of the club.
+     */
+    private final String name;
+
+    /**
+     * The description of the club.
+     */
+    private final String description;
+
+    /**
+     * Constructor. Used by JPQL constructor expressions.
+     * @param name - The name of the club.
+     * @param description - The description of the club.
+     */
+    public ClubView(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    /**
+     * Name Accessor.
+     * @return The name of the club.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Description Accessor.
+     * @return The description of the club.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
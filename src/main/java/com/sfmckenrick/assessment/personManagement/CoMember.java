@@ -0,0 +1,43 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * A Person who shares Clubs with another Person, and how many.
+ */
+public class CoMember {
+
+    /**
+     * The ID of the Person.
+     */
+    private final long personId;
+
+    /**
+     * The number of Clubs shared.
+     */
+    private final int sharedClubs;
+
+    /**
+     * Constructor.
+     * @param personId - The ID of the Person.
+     * @param sharedClubs - The number of Clubs shared.
+     */
+    public CoMember(long personId, int sharedClubs) {
+        this.personId = personId;
+        this.sharedClubs = sharedClubs;
+    }
+
+    /**
+     * Person ID Accessor.
+     * @return The ID of the Person.
+     */
+    public long getPersonId() {
+        return personId;
+    }
+
+    /**
+     * Shared Clubs Accessor.
+     * @return The number of Clubs shared.
+     */
+    public int getSharedClubs() {
+        return sharedClubs;
+    }
+}
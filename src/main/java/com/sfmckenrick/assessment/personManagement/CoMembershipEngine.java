@@ -0,0 +1,57 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.sfmckenrick.assessment.personManagement.exception.PersonNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Finds the Persons who share the most Clubs with a given Person, from the in-memory membership index.
+ * The members of each of the Person's Clubs are counted in a primitive long to int map and the best K are kept in a
+ * bounded primitive heap, so scoring does not box or allocate per member.
+ */
+@Component
+public class CoMembershipEngine {
+
+    /**
+     * Initial capacity of the count map, enough for a few average Clubs without rehashing.
+     */
+    private static final int EXPECTED_CO_MEMBERS = 1024;
+
+    /**
+     * The in-process index of Club memberships.
+     */
+    private final ClubMembershipIndex membershipIndex;
+
+    /**
+     * Constructor.
+     * @param membershipIndex - The index of Club memberships.
+     */
+    @Autowired
+    public CoMembershipEngine(ClubMembershipIndex membershipIndex) {
+        this.membershipIndex = membershipIndex;
+    }
+
+    /**
+     * Ranks the Persons who share at least one Club with a Person by the number of Clubs shared.
+     * @param personId - The ID of the Person.
+     * @param limit - The maximum number of Persons to return.
+     * @return The best ranked Persons, most shared Clubs first and lowest ID first among ties.
+     * @throws PersonNotFoundException - If the Person does not exist.
+     */
+    public List<CoMember> topCoMembers(long personId, int limit) {
+        LongIntHashMap counts = new LongIntHashMap(EXPECTED_CO_MEMBERS);
+        if (!membershipIndex.forEachCoMember(personId, counts::increment)) {
+            throw new PersonNotFoundException(personId);
+        }
+
+        TopKHeap best = new TopKHeap(limit);
+        counts.forEach((id, shared) -> {
+            if (id != personId) {
+                best.offer(id, shared);
+            }
+        });
+        return best.drain();
+    }
+}
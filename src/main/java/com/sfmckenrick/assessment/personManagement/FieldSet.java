@@ -0,0 +1,164 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidFieldsException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields of an entity that a client asked for with a {@code fields=} parameter, such as {@code id,lastName}.
+ * Each field is mapped to the attribute path it is read from, so that only those columns are selected, and its
+ * name is pre-encoded for writing.
+ */
+public final class FieldSet {
+
+    /**
+     * The fields that may be selected from a Person, with their attribute paths.
+     */
+    private static final Map<String, List<String>> PERSON_FIELDS = fields(
+            "id", "id",
+            "firstName", "firstName",
+            "middleName", "middleName",
+            "lastName", "lastName",
+            "dateOfBirth", "dateOfBirth");
+
+    /**
+     * The fields that may be selected from an Address, with their attribute paths.
+     */
+    private static final Map<String, List<String>> ADDRESS_FIELDS = fields(
+            "id", "id",
+            "street", "street",
+            "city", "city",
+            "state", "state",
+            "zipcode", "zipcode",
+            "personId", "person.id");
+
+    /**
+     * The entity the fields belong to.
+     */
+    private final Class<?> entity;
+
+    /**
+     * The pre-encoded names of the fields, in the order they were asked for.
+     */
+    private final SerializableString[] names;
+
+    /**
+     * The attribute path of each field.
+     */
+    private final List<List<String>> paths;
+
+    private FieldSet(Class<?> entity, SerializableString[] names, List<List<String>> paths) {
+        this.entity = entity;
+        this.names = names;
+        this.paths = paths;
+    }
+
+    /**
+     * Parses a field list for a Person.
+     * @param fields - Comma separated field names.
+     * @return The parsed fields.
+     * @throws InvalidFieldsException - If the list is empty or names an unknown field.
+     */
+    public static FieldSet forPerson(String fields) {
+        return parse(Person.class, PERSON_FIELDS, fields);
+    }
+
+    /**
+     * Parses a field list for an Address.
+     * @param fields - Comma separated field names.
+     * @return The parsed fields.
+     * @throws InvalidFieldsException - If the list is empty or names an unknown field.
+     */
+    public static FieldSet forAddress(String fields) {
+        return parse(Address.class, ADDRESS_FIELDS, fields);
+    }
+
+    /**
+     * Entity Accessor.
+     * @return The entity the fields belong to.
+     */
+    public Class<?> getEntity() {
+        return entity;
+    }
+
+    /**
+     * Gets the number of fields.
+     * @return The number of fields.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets the pre-encoded name of a field.
+     * @param index - The position of the field.
+     * @return The name of the field.
+     */
+    public SerializableString getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets the attribute path of a field.
+     * @param index - The position of the field.
+     * @return The attributes to follow from the entity, in order.
+     */
+    public List<String> getPath(int index) {
+        return paths.get(index);
+    }
+
+    /**
+     * Parses a field list against the fields available on an entity. Repeated fields are ignored.
+     * @param entity - The entity.
+     * @param available - The available fields, with their attribute paths.
+     * @param fields - Comma separated field names.
+     * @return The parsed fields.
+     */
+    private static FieldSet parse(Class<?> entity, Map<String, List<String>> available, String fields) {
+        Map<String, List<String>> selected = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            List<String> path = available.get(name);
+            if (path == null) {
+                throw new InvalidFieldsException(fields, "unknown field '" + name + "', expected one of "
+                        + String.join(", ", available.keySet()));
+            }
+            selected.put(name, path);
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldsException(fields, "no fields");
+        }
+
+        SerializableString[] names = new SerializableString[selected.size()];
+        List<List<String>> paths = new ArrayList<>(selected.size());
+        int i = 0;
+        for (Map.Entry<String, List<String>> entry : selected.entrySet()) {
+            names[i++] = new SerializedString(entry.getKey());
+            paths.add(entry.getValue());
+        }
+        return new FieldSet(entity, names, paths);
+    }
+
+    /**
+     * Builds a map of field names to attribute paths.
+     * @param pairs - Alternating field names and dot separated attribute paths.
+     * @return The fields, in order.
+     */
+    private static Map<String, List<String>> fields(String... pairs) {
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            fields.put(pairs[i], Arrays.asList(pairs[i + 1].split("\\.")));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+}
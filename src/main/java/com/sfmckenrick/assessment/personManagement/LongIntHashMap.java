@@ -0,0 +1,127 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * Open addressing hash map from primitive long keys to primitive int values, for counting without boxing.
+ * Keys are stored in a single flat array probed linearly, so a lookup touches one or two cache lines.
+ */
+final class LongIntHashMap {
+
+    /**
+     * Receives the entries of the map.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    /**
+     * Marks an unused slot. The key 0 is held outside the table.
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int resizeAt;
+
+    private int size;
+
+    private boolean hasEmptyKey;
+
+    private int emptyKeyValue;
+
+    /**
+     * Constructor.
+     * @param expectedSize - The number of keys expected, used to size the table.
+     */
+    LongIntHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1);
+    }
+
+    /**
+     * Adds one to the value of a key, inserting it with a value of 1 if absent.
+     * @param key - The key.
+     * @return The new value.
+     */
+    int increment(long key) {
+        if (key == EMPTY) {
+            if (!hasEmptyKey) {
+                hasEmptyKey = true;
+                size++;
+            }
+            return ++emptyKeyValue;
+        }
+        int slot = slot(key);
+        while (true) {
+            long existing = keys[slot];
+            if (existing == key) {
+                return ++values[slot];
+            }
+            if (existing == EMPTY) {
+                keys[slot] = key;
+                values[slot] = 1;
+                if (++size > resizeAt) {
+                    rehash();
+                }
+                return 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * The number of keys in the map.
+     * @return The number of keys.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes every entry to a consumer, in no particular order.
+     * @param consumer - Receives each key and value.
+     */
+    void forEach(EntryConsumer consumer) {
+        if (hasEmptyKey) {
+            consumer.accept(EMPTY, emptyKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        // A load factor of one half keeps linear probe sequences short.
+        resizeAt = capacity / 2;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * The change a MembershipOperation makes to a Club membership.
+ */
+public enum MembershipAction {
+    ADD,
+    REMOVE
+}
@@ -0,0 +1,89 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * A request to add a Person to, or remove a Person from, a Club as part of a batch.
+ */
+public class MembershipOperation {
+
+    /**
+     * Whether to add or remove the membership.
+     */
+    private MembershipAction action;
+
+    /**
+     * The ID of the Person.
+     */
+    private Long personId;
+
+    /**
+     * The name of the Club.
+     */
+    private String clubName;
+
+    /**
+     * Serialization constructor.
+     */
+    public MembershipOperation() {
+
+    }
+
+    /**
+     * Constructor.
+     * @param action - Whether to add or remove the membership.
+     * @param personId - The ID of the Person.
+     * @param clubName - The name of the Club.
+     */
+    public MembershipOperation(MembershipAction action, Long personId, String clubName) {
+        this.action = action;
+        this.personId = personId;
+        this.clubName = clubName;
+    }
+
+    /**
+     * Action Accessor.
+     * @return Whether to add or remove the membership.
+     */
+    public MembershipAction getAction() {
+        return action;
+    }
+
+    /**
+     * Sets the action to the supplied value.
+     * @param action - Whether to add or remove the membership.
+     */
+    public void setAction(MembershipAction action) {
+        this.action = action;
+    }
+
+    /**
+     * Person ID Accessor.
+     * @return The ID of the Person.
+     */
+    public Long getPersonId() {
+        return personId;
+    }
+
+    /**
+     * Sets the Person ID to the supplied value.
+     * @param personId - The ID of the Person.
+     */
+    public void setPersonId(Long personId) {
+        this.personId = personId;
+    }
+
+    /**
+     * Club Name Accessor.
+     * @return The name of the Club.
+     */
+    public String getClubName() {
+        return clubName;
+    }
+
+    /**
+     * Sets the Club name to the supplied value.
+     * @param clubName - The name of the Club.
+     */
+    public void setClubName(String clubName) {
+        this.clubName = clubName;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * The outcome of a single MembershipOperation, identified by its position within the batch.
+ */
+public class MembershipOperationResult {
+
+    /**
+     * The zero-based position of the operation within the batch.
+     */
+    private final int index;
+
+    /**
+     * What the operation did, or why it was skipped.
+     */
+    private final MembershipOutcome outcome;
+
+    /**
+     * Constructor.
+     * @param index - The position of the operation within the batch.
+     * @param outcome - What the operation did.
+     */
+    public MembershipOperationResult(int index, MembershipOutcome outcome) {
+        this.index = index;
+        this.outcome = outcome;
+    }
+
+    /**
+     * Index Accessor.
+     * @return The position of the operation within the batch.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Outcome Accessor.
+     * @return What the operation did, or why it was skipped.
+     */
+    public MembershipOutcome getOutcome() {
+        return outcome;
+    }
+}
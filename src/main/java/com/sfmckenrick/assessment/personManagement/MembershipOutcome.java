@@ -0,0 +1,14 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * The outcome of a single MembershipOperation within a batch.
+ */
+public enum MembershipOutcome {
+    ADDED,
+    REMOVED,
+    ALREADY_MEMBER,
+    NOT_MEMBER,
+    PERSON_NOT_FOUND,
+    CLUB_NOT_FOUND,
+    INVALID
+}
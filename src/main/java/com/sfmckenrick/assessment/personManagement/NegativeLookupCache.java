@@ -0,0 +1,180 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of Person IDs, Address IDs and Club names that were recently looked up and found not to
+ * exist, so that repeated lookups of missing entities are answered without a query.
+ * <p>
+ * Every creation bumps a counter. A lookup takes a stamp of the counter before it queries and only records a
+ * miss if no creation happened in the meantime, so a miss read just before a concurrent insert committed is
+ * never left behind.
+ */
+@Component
+public class NegativeLookupCache {
+
+    /**
+     * IDs of Persons that do not exist.
+     */
+    private final Cache<Long, Boolean> persons;
+
+    /**
+     * IDs of Addresses that do not exist.
+     */
+    private final Cache<Long, Boolean> addresses;
+
+    /**
+     * Names of Clubs that do not exist.
+     */
+    private final Cache<String, Boolean> clubs;
+
+    /**
+     * Counts the creations of any entity.
+     */
+    private final AtomicLong creations = new AtomicLong();
+
+    /**
+     * Constructor.
+     * @param maximumSize - The maximum number of missing keys to hold per entity type.
+     * @param ttlMillis - The time a miss is remembered, in millis.
+     */
+    @Autowired
+    public NegativeLookupCache(@Value("${cache.negative.size}") long maximumSize,
+                               @Value("${cache.negative.ttl.millis}") long ttlMillis) {
+        this.persons = build(maximumSize, ttlMillis);
+        this.addresses = build(maximumSize, ttlMillis);
+        this.clubs = build(maximumSize, ttlMillis);
+    }
+
+    /**
+     * Takes a stamp to pass to one of the mark methods once the lookup has been made.
+     * @return The current stamp.
+     */
+    public long stamp() {
+        return creations.get();
+    }
+
+    /**
+     * Checks if a Person is known not to exist.
+     * @param id - The ID of the Person.
+     * @return True if the Person was recently found not to exist.
+     */
+    public boolean isPersonMissing(long id) {
+        return persons.getIfPresent(id) != null;
+    }
+
+    /**
+     * Records that a Person was not found.
+     * @param id - The ID of the Person.
+     * @param stamp - The stamp taken before the lookup.
+     */
+    public void markPersonMissing(long id, long stamp) {
+        mark(persons, id, stamp);
+    }
+
+    /**
+     * Forgets any miss recorded for a Person that has been created.
+     * @param id - The ID of the Person.
+     */
+    public void personCreated(long id) {
+        created(persons, id);
+    }
+
+    /**
+     * Checks if an Address is known not to exist.
+     * @param id - The ID of the Address.
+     * @return True if the Address was recently found not to exist.
+     */
+    public boolean isAddressMissing(long id) {
+        return addresses.getIfPresent(id) != null;
+    }
+
+    /**
+     * Records that an Address was not found.
+     * @param id - The ID of the Address.
+     * @param stamp - The stamp taken before the lookup.
+     */
+    public void markAddressMissing(long id, long stamp) {
+        mark(addresses, id, stamp);
+    }
+
+    /**
+     * Forgets any miss recorded for an Address that has been created.
+     * @param id - The ID of the Address.
+     */
+    public void addressCreated(long id) {
+        created(addresses, id);
+    }
+
+    /**
+     * Checks if a Club is known not to exist.
+     * @param name - The name of the Club.
+     * @return True if the Club was recently found not to exist.
+     */
+    public boolean isClubMissing(String name) {
+        return clubs.getIfPresent(name) != null;
+    }
+
+    /**
+     * Records that a Club was not found.
+     * @param name - The name of the Club.
+     * @param stamp - The stamp taken before the lookup.
+     */
+    public void markClubMissing(String name, long stamp) {
+        mark(clubs, name, stamp);
+    }
+
+    /**
+     * Forgets any miss recorded for a Club that has been created.
+     * @param name - The name of the Club.
+     */
+    public void clubCreated(String name) {
+        created(clubs, name);
+    }
+
+    /**
+     * Forgets every recorded miss.
+     */
+    public void invalidateAll() {
+        creations.incrementAndGet();
+        persons.invalidateAll();
+        addresses.invalidateAll();
+        clubs.invalidateAll();
+    }
+
+    /**
+     * Records a miss, withdrawing it again if a creation raced with the lookup.
+     */
+    private <K> void mark(Cache<K, Boolean> cache, K key, long stamp) {
+        cache.put(key, Boolean.TRUE);
+        if (creations.get() != stamp) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Forgets a miss now and again once the creating transaction has completed.
+     */
+    private <K> void created(Cache<K, Boolean> cache, K key) {
+        creations.incrementAndGet();
+        cache.invalidate(key);
+        TransactionHooks.afterCompletion(() -> {
+            creations.incrementAndGet();
+            cache.invalidate(key);
+        });
+    }
+
+    private static <K> Cache<K, Boolean> build(long maximumSize, long ttlMillis) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.sfmckenrick.assessment.personManagement.exception.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Applies the exception.not-found.stack-trace setting at startup.
+ * <p>
+ * This mutates global state: the setting is a static flag on EntityNotFoundException, so it applies to every
+ * instance created in the JVM, including those of any other application context that shares it, and the last
+ * context to start wins.
+ */
+@Component
+public class NotFoundStackTraceInitializer {
+
+    /**
+     * True if EntityNotFoundExceptions should capture stack traces.
+     */
+    private final boolean stackTraceEnabled;
+
+    /**
+     * Constructor.
+     * @param stackTraceEnabled - True if EntityNotFoundExceptions should capture stack traces.
+     */
+    @Autowired
+    public NotFoundStackTraceInitializer(@Value("${exception.not-found.stack-trace}") boolean stackTraceEnabled) {
+        this.stackTraceEnabled = stackTraceEnabled;
+    }
+
+    /**
+     * Sets the static stack trace flag of EntityNotFoundException.
+     */
+    @PostConstruct
+    public void apply() {
+        EntityNotFoundException.setStackTraceEnabled(stackTraceEnabled);
+    }
+}
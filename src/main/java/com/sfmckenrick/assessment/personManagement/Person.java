@@ -1,5 +1,9 @@
 package com.sfmckenrick.assessment.personManagement;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
 import javax.persistence.*;
 import java.util.Date;
 import java.util.Objects;
@@ -13,10 +17,12 @@ import java.util.Objects;
 public class Person {
 
     /**
-     * Auto-generated identifier.
+     * Auto-generated identifier. Drawn from the person_seq sequence or a snowflake generator, see EntityIdGenerator.
      */
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "person_id")
+    @GenericGenerator(name = "person_id", strategy = "com.sfmckenrick.assessment.personManagement.generator.EntityIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "person_seq"))
     private Long id;
 
     /**
@@ -43,6 +49,13 @@ public class Person {
     @Column(name = "dob", nullable = false)
     private Date dateOfBirth;
 
+    /**
+     * The version of this person, incremented by every update. An update made from an older version is rejected.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     /**
      * Constructor for serialization.
      */
@@ -62,6 +75,16 @@ public class Person {
         this.dateOfBirth = dateOfBirth;
     }
 
+    /**
+     * Copy Constructor. The copy is detached, with the same ID and version as the original.
+     * @param person - The Person to copy.
+     */
+    Person(Person person) {
+        this(person.firstName, person.middleName, person.lastName, person.dateOfBirth);
+        this.id = person.id;
+        this.version = person.version;
+    }
+
     /**
      * ID Accessor.
      * @return The primary key identifier.
@@ -134,6 +157,22 @@ public class Person {
         this.dateOfBirth = dateOfBirth;
     }
 
+    /**
+     * Version Accessor.
+     * @return The version of the person.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version to the supplied value. An update must carry the version it was read at.
+     * @param version - The version the update was read at.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,129 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded, in-process read-through cache of Person entities keyed by ID.
+ * Entries are evicted by a W-TinyLFU policy once the size limit is reached, which keeps frequently read
+ * records resident, and expire a fixed time after they are loaded.
+ * <p>
+ * The cache holds the in-flight load of each ID, so concurrent misses for the same ID share a single query and
+ * all receive its result or its exception. A load whose entry is invalidated while it is in flight is not
+ * cached when it completes. Writers invalidate both immediately and again once their transaction completes,
+ * so a load that read the row before the commit can not leave a stale entry behind.
+ * <p>
+ * Callers are given a copy of the cached Person, so changes they make to it are never seen by other callers.
+ */
+@Component
+public class PersonCache {
+
+    /**
+     * The cached Persons.
+     */
+    private final AsyncCache<Long, Person> cache;
+
+    /**
+     * Constructor.
+     * @param maximumSize - The maximum number of Persons to hold.
+     * @param ttlMillis - The time after loading that an entry expires, in millis.
+     */
+    @Autowired
+    public PersonCache(@Value("${cache.person.size}") long maximumSize,
+                       @Value("${cache.person.ttl.millis}") long ttlMillis) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Gets a Person from the cache, loading it on the calling thread if it is not present and not already
+     * being loaded.
+     * @param id - The ID of the Person.
+     * @param loader - Loads the Person on a miss. Exceptions are propagated to every waiting caller and
+     *               nothing is cached.
+     * @return A copy of the Person with a matching ID.
+     */
+    public Person get(long id, LongFunction<Person> loader) {
+        CompletableFuture<Person> flight = new CompletableFuture<>();
+        CompletableFuture<Person> future = cache.get(id, (key, executor) -> flight);
+        if (future == flight) {
+            try {
+                flight.complete(loader.apply(id));
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+            }
+        }
+        return new Person(SingleFlight.join(future));
+    }
+
+    /**
+     * Gets several Persons from the cache, loading all of those that are not present and not already being loaded
+     * with a single call on the calling thread. Loads already in flight for some of the IDs are joined.
+     * @param ids - The IDs of the Persons.
+     * @param loader - Loads the missing Persons by ID. IDs absent from its result are not cached. Exceptions are
+     *               propagated to every waiting caller and nothing is cached.
+     * @return Copies of the Persons found, by ID.
+     */
+    public Map<Long, Person> getAll(Collection<Long> ids, Function<List<Long>, Map<Long, Person>> loader) {
+        CompletableFuture<Map<Long, Person>> flight = new CompletableFuture<>();
+        List<Long> missing = new ArrayList<>();
+        CompletableFuture<Map<Long, Person>> future = cache.getAll(ids, (keys, executor) -> {
+            keys.forEach(missing::add);
+            return flight;
+        });
+        if (!missing.isEmpty()) {
+            try {
+                flight.complete(loader.apply(missing));
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+            }
+        }
+        Map<Long, Person> found = new HashMap<>();
+        SingleFlight.join(future).forEach((id, person) -> found.put(id, new Person(person)));
+        return found;
+    }
+
+    /**
+     * Removes a Person from the cache now and again when the current transaction completes.
+     * @param id - The ID of the Person to remove.
+     */
+    public void invalidate(long id) {
+        cache.synchronous().invalidate(id);
+        TransactionHooks.afterCompletion(() -> cache.synchronous().invalidate(id));
+    }
+
+    /**
+     * Removes every Person from the cache now and again when the current transaction completes.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+        TransactionHooks.afterCompletion(() -> cache.synchronous().invalidateAll());
+    }
+
+    /**
+     * Gets the hit, miss and eviction counters of the cache.
+     * @return A snapshot of the counters.
+     */
+    public CacheStatistics getStatistics() {
+        CacheStats stats = cache.synchronous().stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                cache.synchronous().estimatedSize());
+    }
+}
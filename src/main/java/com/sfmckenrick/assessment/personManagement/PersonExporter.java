@@ -0,0 +1,138 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes every Person, Address and Club membership to a stream as JSON Lines.
+ * Each table is read through a forward-only cursor of scalar rows, which are written as they arrive, so memory
+ * use does not grow with the size of the tables.
+ */
+@Service
+public class PersonExporter {
+
+    /**
+     * Writes a single row of a query to the output.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(JsonGenerator out, Object[] row) throws IOException;
+    }
+
+    /**
+     * The shared EntityManager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * The mapper whose settings are used to write values such as dates.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The number of rows fetched from the database per round trip, and written between flushes.
+     */
+    private final int fetchSize;
+
+    /**
+     * Constructor.
+     * @param entityManager - The shared EntityManager.
+     * @param objectMapper - The application's ObjectMapper.
+     * @param fetchSize - The number of rows fetched per round trip.
+     */
+    @Autowired
+    public PersonExporter(EntityManager entityManager,
+                          ObjectMapper objectMapper,
+                          @Value("${export.fetch.size}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes all Persons, then all Addresses, then all Club memberships. Each line is an object whose "type"
+     * field is one of "person", "address" or "membership". The output is flushed but not closed.
+     * @param stream - The stream to write to.
+     * @throws IOException - If the stream can not be written.
+     */
+    @Transactional(readOnly = true)
+    public void export(OutputStream stream) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        try (JsonGenerator out = objectMapper.getFactory().createGenerator(stream)) {
+            out.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            out.setRootValueSeparator(null);
+
+            exportRows(session, out,
+                    "select p.id, p.firstName, p.middleName, p.lastName, p.dateOfBirth from Person p",
+                    (json, row) -> {
+                        json.writeStringField("type", "person");
+                        json.writeObjectField("id", row[0]);
+                        json.writeStringField("firstName", (String) row[1]);
+                        json.writeStringField("middleName", (String) row[2]);
+                        json.writeStringField("lastName", (String) row[3]);
+                        json.writeObjectField("dateOfBirth", row[4]);
+                    });
+
+            exportRows(session, out,
+                    "select a.id, a.person.id, a.street, a.city, a.state, a.zipcode from Address a",
+                    (json, row) -> {
+                        json.writeStringField("type", "address");
+                        json.writeObjectField("id", row[0]);
+                        json.writeObjectField("personId", row[1]);
+                        json.writeStringField("street", (String) row[2]);
+                        json.writeStringField("city", (String) row[3]);
+                        json.writeStringField("state", ((State) row[4]).name());
+                        json.writeStringField("zipcode", (String) row[5]);
+                    });
+
+            exportRows(session, out,
+                    "select m.id.personId, m.club.name from ClubMembership m",
+                    (json, row) -> {
+                        json.writeStringField("type", "membership");
+                        json.writeObjectField("personId", row[0]);
+                        json.writeStringField("clubName", (String) row[1]);
+                    });
+        }
+    }
+
+    /**
+     * Streams the rows of a scalar query to the output, one line per row.
+     * @param session - The current Session.
+     * @param out - The output.
+     * @param query - The JPQL query to stream.
+     * @param writer - Writes the fields of one row.
+     * @throws IOException - If the output can not be written.
+     */
+    private void exportRows(Session session, JsonGenerator out, String query, RowWriter writer) throws IOException {
+        try (ScrollableResults rows = session.createQuery(query, Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (rows.next()) {
+                out.writeStartObject();
+                writer.write(out, rows.get());
+                out.writeEndObject();
+                out.writeRaw('\n');
+
+                if (++count % fetchSize == 0) {
+                    // Scalar rows are not managed, but anything loaded along the way must not accumulate.
+                    session.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+    }
+}
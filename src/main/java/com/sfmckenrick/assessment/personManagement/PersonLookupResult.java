@@ -0,0 +1,45 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.List;
+
+/**
+ * The outcome of looking up several Persons by ID at once.
+ */
+public class PersonLookupResult {
+
+    /**
+     * The Persons found, in the order their IDs were requested.
+     */
+    private final List<PersonView> persons;
+
+    /**
+     * The requested IDs that do not belong to an existing Person, in the order they were requested.
+     */
+    private final long[] missingIds;
+
+    /**
+     * Constructor.
+     * @param persons - The Persons found, in request order.
+     * @param missingIds - The requested IDs that do not belong to an existing Person.
+     */
+    public PersonLookupResult(List<PersonView> persons, long[] missingIds) {
+        this.persons = persons;
+        this.missingIds = missingIds;
+    }
+
+    /**
+     * Persons Accessor.
+     * @return The Persons found, in the order their IDs were requested.
+     */
+    public List<PersonView> getPersons() {
+        return persons;
+    }
+
+    /**
+     * Missing IDs Accessor.
+     * @return The requested IDs that do not belong to an existing Person, in the order they were requested.
+     */
+    public long[] getMissingIds() {
+        return missingIds;
+    }
+}
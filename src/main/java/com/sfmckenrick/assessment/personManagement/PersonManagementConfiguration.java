@@ -0,0 +1,55 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Declares the Person Management media types and the binary message converters.
+ */
+@Configuration
+public class PersonManagementConfiguration {
+
+    /**
+     * The media type of Smile encoded bodies.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * APPLICATION_SMILE_VALUE parsed as a MediaType, for matching the content type of a request.
+     */
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    /**
+     * The media type of JSON Merge Patch bodies.
+     */
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    /**
+     * Reads and writes CBOR bodies with the same modules and settings as the application's JSON ObjectMapper.
+     * Replaces the default CBOR converter in place, so JSON stays the preferred format when the client accepts any.
+     * @param builder - A copy of the application's ObjectMapper configuration.
+     * @return The CBOR converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Reads and writes Smile bodies with the same modules and settings as the application's JSON ObjectMapper.
+     * Replaces the default Smile converter in place, so JSON stays the preferred format when the client accepts
+     * any.
+     * @param builder - A copy of the application's ObjectMapper configuration.
+     * @return The Smile converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
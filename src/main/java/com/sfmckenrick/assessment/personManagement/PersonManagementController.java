@@ -1,13 +1,31 @@
 package com.sfmckenrick.assessment.personManagement;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.sfmckenrick.assessment.personManagement.exception.EntityNotFoundException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidClubExpressionException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidCursorException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidEntityTagException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidFieldsException;
+import com.sfmckenrick.assessment.personManagement.exception.TooManyIdsException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * RESTful controller that facilitates the modification of the Person data objects.
  * @author Scott McKenrick <sbm5967@arl.psu.edu>
@@ -21,20 +39,191 @@ public class PersonManagementController {
      */
     private PersonManagementService service;
 
+    /**
+     * Writes the full export of the Person data.
+     */
+    private PersonExporter exporter;
+
+    /**
+     * Reader used to parse streamed Person uploads one record at a time.
+     */
+    private ObjectReader personReader;
+
+    /**
+     * Reader used to parse streamed CBOR Person uploads one record at a time.
+     */
+    private ObjectReader cborPersonReader;
+
+    /**
+     * Reader used to parse streamed Smile Person uploads one record at a time.
+     */
+    private ObjectReader smilePersonReader;
+
     @Autowired
-    public PersonManagementController(PersonManagementService service) {
+    public PersonManagementController(PersonManagementService service,
+                                      PersonExporter exporter,
+                                      ObjectMapper objectMapper,
+                                      MappingJackson2CborHttpMessageConverter cborConverter,
+                                      MappingJackson2SmileHttpMessageConverter smileConverter) {
         this.service = service;
+        this.exporter = exporter;
+        this.personReader = objectMapper.readerFor(Person.class);
+        this.cborPersonReader = cborConverter.getObjectMapper().readerFor(Person.class);
+        this.smilePersonReader = smileConverter.getObjectMapper().readerFor(Person.class);
     }
 
     /**
-     * Get endpoint that gets a Person by their ID.
+     * Get endpoint that gets a Person by their ID, tagged with the Person's version. A request whose If-None-Match
+     * names the current version is answered 304 after reading only the version.
      * @param personId - The ID of the person to get.
-     * @return The retrieved Person object.
+     * @param request - The request.
+     * @return The retrieved Person, or null if the client's copy is current.
      */
     @GetMapping("get-person/{personId}")
+    public ResponseEntity<PersonView> getPersonById(@PathVariable Long personId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(entityTag(service.getPersonVersion(personId)))) {
+            return null;
+        }
+        PersonView person = service.getPersonView(personId);
+        return ResponseEntity.ok().eTag(entityTag(person.getVersion())).body(person);
+    }
+
+    /**
+     * Get endpoint that gets only the requested fields of a Person.
+     * @param personId - The ID of the person to get.
+     * @param fields - Comma separated names of the fields to return.
+     * @return The requested fields of the Person.
+     */
+    @GetMapping(value = "get-person/{personId}", params = "fields")
+    @ResponseStatus(HttpStatus.OK)
+    public SparseView getPersonFields(@PathVariable Long personId, @RequestParam String fields) {
+        return service.getPersonFields(personId, fields);
+    }
+
+    /**
+     * Get endpoint that gets an Address by its ID, tagged with the Address's version. A request whose
+     * If-None-Match names the current version is answered 304 after reading only the version.
+     * @param addressId - The ID of the address to get.
+     * @param request - The request.
+     * @return The retrieved Address, or null if the client's copy is current.
+     */
+    @GetMapping("get-address/{addressId}")
+    public ResponseEntity<AddressView> getAddressById(@PathVariable Long addressId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(entityTag(service.getAddressVersion(addressId)))) {
+            return null;
+        }
+        AddressView address = service.getAddressView(addressId);
+        return ResponseEntity.ok().eTag(entityTag(address.getVersion())).body(address);
+    }
+
+    /**
+     * Get endpoint that gets only the requested fields of an Address.
+     * @param addressId - The ID of the address to get.
+     * @param fields - Comma separated names of the fields to return.
+     * @return The requested fields of the Address.
+     */
+    @GetMapping(value = "get-address/{addressId}", params = "fields")
+    @ResponseStatus(HttpStatus.OK)
+    public SparseView getAddressFields(@PathVariable Long addressId, @RequestParam String fields) {
+        return service.getAddressFields(addressId, fields);
+    }
+
+    /**
+     * Get endpoint that gets a Person together with their Addresses and Clubs.
+     * @param personId - The ID of the person to get.
+     * @return The Person with their Addresses and Clubs.
+     */
+    @GetMapping("get-person-profile/{personId}")
+    @ResponseStatus(HttpStatus.OK)
+    public PersonProfile getPersonProfile(@PathVariable Long personId) {
+        return service.getPersonProfile(personId);
+    }
+
+    /**
+     * Get endpoint that gets several Persons by their IDs in a single request.
+     * @param ids - The IDs of the Persons to get, comma separated.
+     * @return The Persons found and the IDs that do not exist, each in request order.
+     */
+    @GetMapping("get-persons")
+    @ResponseStatus(HttpStatus.OK)
+    public PersonLookupResult getPersonsByIds(@RequestParam long[] ids) {
+        return service.getPersonsByIds(ids);
+    }
+
+    /**
+     * Post form of get-persons, for lists of IDs too long for a query string.
+     * @param ids - The IDs of the Persons to get.
+     * @return The Persons found and the IDs that do not exist, each in request order.
+     */
+    @PostMapping("get-persons")
+    @ResponseStatus(HttpStatus.OK)
+    public PersonLookupResult postPersonsByIds(@RequestBody long[] ids) {
+        return service.getPersonsByIds(ids);
+    }
+
+    /**
+     * Get endpoint that lists Persons one page at a time, in ID order.
+     * @param cursor - The next cursor of the previous page, omitted for the first page.
+     * @param size - The number of Persons per page, omitted for the default.
+     * @return The page of Persons.
+     */
+    @GetMapping("persons")
+    @ResponseStatus(HttpStatus.OK)
+    public PersonPage<PersonView> getPersons(@RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
+        return service.getPersons(cursor, size);
+    }
+
+    /**
+     * Get endpoint that lists only the requested fields of Persons one page at a time, in ID order.
+     * @param cursor - The next cursor of the previous page, omitted for the first page.
+     * @param size - The number of Persons per page, omitted for the default.
+     * @param fields - Comma separated names of the fields to return.
+     * @return The page of Persons.
+     */
+    @GetMapping(value = "persons", params = "fields")
+    @ResponseStatus(HttpStatus.OK)
+    public PersonPage<SparseView> getPersonsFields(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size,
+                                                   @RequestParam String fields) {
+        return service.getPersonsFields(cursor, size, fields);
+    }
+
+    /**
+     * Get endpoint that evaluates a set-algebra expression over Club memberships.
+     * @param expression - The expression, for example {@code "Club A" AND "Club B" ANDNOT C}.
+     * @param countOnly - True to return only the number of matching Persons.
+     * @return The number of matching Persons and, unless countOnly, their IDs.
+     */
+    @GetMapping("query-club-members")
     @ResponseStatus(HttpStatus.OK)
-    public Person getPersonById(@PathVariable Long personId) {
-        return service.getPersonById(personId);
+    public ClubQueryResult queryClubMembers(@RequestParam String expression,
+                                            @RequestParam(defaultValue = "false") boolean countOnly) {
+        return service.queryClubMembers(expression, countOnly);
+    }
+
+    /**
+     * Get endpoint that ranks the Persons who share the most Clubs with a Person.
+     * @param personId - The ID of the Person.
+     * @param limit - The number of Persons to return.
+     * @return The Persons sharing at least one Club, most shared Clubs first.
+     */
+    @GetMapping("get-co-members/{personId}")
+    @ResponseStatus(HttpStatus.OK)
+    public List<CoMember> getCoMembers(@PathVariable Long personId, @RequestParam(defaultValue = "10") int limit) {
+        return service.getCoMembers(personId, limit);
+    }
+
+    /**
+     * Get endpoint that reports the hit, miss and eviction counters of the Person cache.
+     * @return A snapshot of the cache counters.
+     */
+    @GetMapping("get-person-cache-statistics")
+    @ResponseStatus(HttpStatus.OK)
+    public CacheStatistics getPersonCacheStatistics() {
+        return service.getPersonCacheStatistics();
     }
 
     /**
@@ -48,14 +237,147 @@ public class PersonManagementController {
     }
 
     /**
-     * Posts a Person Object to be saved (or updated) in the data layer.
+     * Posts a Person Object to be saved (or updated) in the data layer. An update must carry the version it was
+     * read at, and is rejected with a conflict if the Person has changed since.
      * @param person - The Person to save.
-     * @return The updated Person object.
+     * @return The saved Person, tagged with its new version.
      */
     @PostMapping("post-person")
-    @ResponseStatus(HttpStatus.CREATED)
-    public Person insertPerson(@RequestBody Person person) {
-        return service.savePerson(person);
+    public ResponseEntity<PersonView> insertPerson(@RequestBody Person person) {
+        PersonView saved = new PersonView(service.savePerson(person));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(entityTag(saved.getVersion())).body(saved);
+    }
+
+    /**
+     * Patch endpoint that applies a JSON Merge Patch to a Person. Only the fields present in the patch are changed,
+     * with a single update and without reading the Person. The If-Match header must carry the entity tag of the
+     * version the patch was made from, and a patch made from an older version is rejected with a conflict.
+     * @param personId - The ID of the person to patch.
+     * @param ifMatch - The entity tag of the version the patch was made from.
+     * @param patch - The fields to change.
+     * @return An empty response tagged with the new version.
+     */
+    @PatchMapping(value = "patch-person/{personId}",
+            consumes = PersonManagementConfiguration.APPLICATION_MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<Void> patchPerson(@PathVariable Long personId,
+                                            @RequestHeader(HttpHeaders.IF_MATCH) String ifMatch,
+                                            @RequestBody PersonPatch patch) {
+        long version = service.patchPerson(personId, parseEntityTag(ifMatch), patch);
+        return ResponseEntity.noContent().eTag(entityTag(version)).build();
+    }
+
+    /**
+     * Posts a stream of new Person objects to be inserted in the data layer. The body may be a JSON array,
+     * newline delimited JSON, or a CBOR or Smile array or sequence of values, and is parsed incrementally as it is
+     * saved.
+     * @param body - The request body.
+     * @param contentType - The media type of the request body.
+     * @return The outcome of each chunk of the upload.
+     * @throws IOException - If the request body can not be read.
+     */
+    @PostMapping(value = "post-persons", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            PersonManagementConfiguration.APPLICATION_SMILE_VALUE})
+    @ResponseStatus(HttpStatus.OK)
+    public BulkSaveResult insertPersons(InputStream body, @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType)
+            throws IOException {
+        try (MappingIterator<Person> persons = readerFor(MediaType.parseMediaType(contentType)).readValues(body)) {
+            return service.savePersons(persons);
+        }
+    }
+
+    /**
+     * Selects the Person reader for the media type of an upload.
+     * @param contentType - The media type of the request body.
+     * @return The reader for the media type.
+     */
+    private ObjectReader readerFor(MediaType contentType) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return cborPersonReader;
+        }
+        if (PersonManagementConfiguration.APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return smilePersonReader;
+        }
+        return personReader;
+    }
+
+    /**
+     * Get endpoint that streams every Person, Address and Club membership as newline delimited JSON.
+     * @param response - The response to stream to.
+     * @throws IOException - If the response can not be written.
+     */
+    @GetMapping(value = "export-persons", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportPersons(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        exporter.export(response.getOutputStream());
+    }
+
+    /**
+     * Posts a batch of Club membership additions and removals, applied together in a single transaction.
+     * @param operations - The operations to apply, in order.
+     * @return The outcome of each operation, in the same order.
+     */
+    @PostMapping("post-club-memberships")
+    @ResponseStatus(HttpStatus.OK)
+    public List<MembershipOperationResult> applyMembershipOperations(
+            @RequestBody List<MembershipOperation> operations) {
+        return service.applyMembershipOperations(operations);
+    }
+
+    /**
+     * Put endpoint that replaces the members of a Club with exactly the supplied Persons, writing only the
+     * memberships that change.
+     * @param clubName - The name of the Club.
+     * @param personIds - The IDs of the Persons who should be members.
+     * @return The number of memberships added and removed, and the IDs skipped as missing.
+     */
+    @PutMapping("put-club-members/{clubName}")
+    @ResponseStatus(HttpStatus.OK)
+    public RosterReplaceResult replaceClubMembers(@PathVariable String clubName, @RequestBody long[] personIds) {
+        return service.replaceClubMembers(clubName, personIds);
+    }
+
+    /**
+     * Builds the entity tag of a version. The tag is weak, as the same version may be sent in several formats.
+     * @param version - The version of the entity.
+     * @return The entity tag.
+     */
+    private static String entityTag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * Reads the version named by an entity tag, weak or strong.
+     * @param entityTag - The entity tag.
+     * @return The version of the entity.
+     * @throws InvalidEntityTagException - If the entity tag does not name a version.
+     */
+    private static long parseEntityTag(String entityTag) {
+        String tag = entityTag.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new InvalidEntityTagException(entityTag);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidEntityTagException(entityTag);
+        }
+    }
+
+    /**
+     * Exception handler that handles updates made from a version of an entity that is no longer current.
+     * @param e - The Exception object.
+     * @param request - The request.
+     * @return The Constructed response.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConflict(OptimisticLockingFailureException e, WebRequest request) {
+        String message = "The entity has been modified since it was read. Please read it again and retry.";
+        return new ResponseEntity<>(message, HttpStatus.CONFLICT);
     }
 
     /**
@@ -68,6 +390,19 @@ public class PersonManagementController {
         return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Exception handler that handles request parameters that could not be parsed, such as cursors and Club
+     * expressions.
+     * @param e - The Exception object.
+     * @param request - The request.
+     * @return The Constructed response.
+     */
+    @ExceptionHandler({InvalidCursorException.class, InvalidClubExpressionException.class,
+            InvalidFieldsException.class, TooManyIdsException.class, InvalidEntityTagException.class})
+    public ResponseEntity<Object> handleInvalidParameter(RuntimeException e, WebRequest request) {
+        return new ResponseEntity<>(e.getLocalizedMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Exception handler that handles all implementations of EntityNotFoundException exceptions.
      * @param e - The Exception object.
@@ -2,12 +2,44 @@ package com.sfmckenrick.assessment.personManagement;
 
 import com.sfmckenrick.assessment.personManagement.exception.AddressNotFoundException;
 import com.sfmckenrick.assessment.personManagement.exception.ClubNotFoundException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidCursorException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidFieldsException;
 import com.sfmckenrick.assessment.personManagement.exception.PersonNotFoundException;
+import com.sfmckenrick.assessment.personManagement.exception.TooManyIdsException;
+import org.hibernate.Session;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -38,41 +70,483 @@ public class PersonManagementService {
      */
     private final PersonRepository personRepository;
 
+    /**
+     * The read-through cache in front of Person lookups by ID.
+     */
+    private final PersonCache personCache;
+
+    /**
+     * Remembers recent lookups of entities that do not exist.
+     */
+    private final NegativeLookupCache negativeLookups;
+
+    /**
+     * Resolves Club names to IDs.
+     */
+    private final ClubDictionary clubDictionary;
+
+    /**
+     * The in-process index of Club memberships.
+     */
+    private final ClubMembershipIndex membershipIndex;
+
+    /**
+     * Ranks Persons by the Clubs they share.
+     */
+    private final CoMembershipEngine coMembershipEngine;
+
+    /**
+     * Coalesces concurrent loads of the same Club.
+     */
+    private final SingleFlight<String, Club> clubLoads = new SingleFlight<>(Club::new);
+
+    /**
+     * Coalesces concurrent loads of the Addresses of the same Person.
+     */
+    private final SingleFlight<Long, List<Address>> addressListLoads =
+            new SingleFlight<>(PersonManagementService::copyAddresses);
+
+    /**
+     * Reads only the requested fields of Persons and Addresses.
+     */
+    private final SparseFieldReader sparseFieldReader;
+
+    /**
+     * The shared EntityManager, used directly where the repositories are too coarse.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Used for batched statements that do not need entities.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Template for the programmatic transactions used by bulk operations.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * The number of records committed together by a bulk save.
+     */
+    private final int bulkChunkSize;
+
+    /**
+     * The number of inserts sent to the database in a single JDBC batch by a bulk save.
+     */
+    private final int bulkBatchSize;
+
+    /**
+     * The number of Persons on a listing page when the client does not ask for a size.
+     */
+    private final int defaultPageSize;
+
+    /**
+     * The largest number of Persons a client may ask for on a listing page.
+     */
+    private final int maxPageSize;
+
+    /**
+     * The largest number of Persons a co-membership query may return.
+     */
+    private final int maxCoMembers;
+
+    /**
+     * The largest number of Persons that may be looked up by ID at once.
+     */
+    private final int maxLookupIds;
+
     /**
      * Constructor.
      * @param addressRepository - The repository to use for interacting with Address entities.
      * @param clubMembershipRepository - The repository to use for interacting with Club/Person mappings.
      * @param clubRepository - The repository to use for interacting with Club entities.
      * @param personRepository - The repository to use for interacting with Person entities.
+     * @param personCache - The cache of Persons by ID.
+     * @param negativeLookups - The cache of recently missed lookups.
+     * @param clubDictionary - Resolves Club names to IDs.
+     * @param membershipIndex - The index of Club memberships.
+     * @param coMembershipEngine - Ranks Persons by the Clubs they share.
+     * @param sparseFieldReader - Reads only the requested fields of Persons and Addresses.
+     * @param entityManager - The shared EntityManager.
+     * @param jdbcTemplate - The JdbcTemplate used for batched statements.
+     * @param transactionManager - The transaction manager used for bulk operations.
+     * @param bulkChunkSize - The number of records committed together by a bulk save.
+     * @param bulkBatchSize - The JDBC batch size used by a bulk save.
+     * @param defaultPageSize - The default number of Persons on a listing page.
+     * @param maxPageSize - The maximum number of Persons on a listing page.
+     * @param maxCoMembers - The maximum number of Persons returned by a co-membership query.
+     * @param maxLookupIds - The maximum number of Persons looked up by ID at once.
      */
     @Autowired
     public PersonManagementService(AddressRepository addressRepository,
                                    ClubMembershipRepository clubMembershipRepository,
                                    ClubRepository clubRepository,
-                                   PersonRepository personRepository) {
+                                   PersonRepository personRepository,
+                                   PersonCache personCache,
+                                   NegativeLookupCache negativeLookups,
+                                   ClubDictionary clubDictionary,
+                                   ClubMembershipIndex membershipIndex,
+                                   CoMembershipEngine coMembershipEngine,
+                                   SparseFieldReader sparseFieldReader,
+                                   EntityManager entityManager,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${bulk.chunk.size}") int bulkChunkSize,
+                                   @Value("${bulk.batch.size}") int bulkBatchSize,
+                                   @Value("${page.person.size.default}") int defaultPageSize,
+                                   @Value("${page.person.size.max}") int maxPageSize,
+                                   @Value("${co-membership.limit.max}") int maxCoMembers,
+                                   @Value("${multi-get.ids.max}") int maxLookupIds) {
         this.addressRepository = addressRepository;
         this.clubMembershipRepository = clubMembershipRepository;
         this.clubRepository = clubRepository;
         this.personRepository = personRepository;
+        this.personCache = personCache;
+        this.negativeLookups = negativeLookups;
+        this.clubDictionary = clubDictionary;
+        this.membershipIndex = membershipIndex;
+        this.coMembershipEngine = coMembershipEngine;
+        this.sparseFieldReader = sparseFieldReader;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkChunkSize = bulkChunkSize;
+        this.bulkBatchSize = bulkBatchSize;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxCoMembers = maxCoMembers;
+        this.maxLookupIds = maxLookupIds;
     }
 
     /**
-     * Gets an Optional-wrapped Person object by its ID
+     * Gets an Optional-wrapped Person object by its ID. Served from the Person cache where possible, which also
+     * coalesces concurrent loads of the same ID into a single query. IDs recently found not to exist are
+     * rejected without a query.
      * @param id - The ID of the person.
      * @return A Person with matching ID.
      */
     public Person getPersonById(long id) {
-        return personRepository.findById(id).orElseThrow(() -> new PersonNotFoundException(id));
+        if (negativeLookups.isPersonMissing(id)) {
+            throw new PersonNotFoundException(id);
+        }
+        return personCache.get(id, key -> {
+            long stamp = negativeLookups.stamp();
+            return personRepository.findById(key).orElseThrow(() -> {
+                negativeLookups.markPersonMissing(key, stamp);
+                return new PersonNotFoundException(key);
+            });
+        });
+    }
+
+    /**
+     * Gets a Person by its ID as a view, served from the Person cache in the same way as getPersonById.
+     * @param id - The ID of the person.
+     * @return A view of the Person with matching ID.
+     */
+    public PersonView getPersonView(long id) {
+        return new PersonView(getPersonById(id));
+    }
+
+    /**
+     * Gets only the version of a Person, with a query that reads no other column, so a client's copy can be
+     * checked without loading the Person. IDs recently found not to exist are rejected without a query.
+     * @param id - The ID of the person.
+     * @return The current version of the Person.
+     */
+    public long getPersonVersion(long id) {
+        if (negativeLookups.isPersonMissing(id)) {
+            throw new PersonNotFoundException(id);
+        }
+        long stamp = negativeLookups.stamp();
+        return personRepository.findVersionById(id).orElseThrow(() -> {
+            negativeLookups.markPersonMissing(id, stamp);
+            return new PersonNotFoundException(id);
+        });
     }
 
     /**
-     * Saves (Inserts or Updates) a Person.
+     * Gets several Persons by ID at once. Persons in the cache are served from it, and the rest are read together
+     * in one transaction with IN queries of at most the bulk chunk size, rather than a query per ID. IDs recently
+     * found not to exist are skipped without a query.
+     * @param ids - The IDs of the Persons, at most the configured maximum. Duplicates are ignored.
+     * @return The Persons found and the IDs that do not exist, each in request order.
+     */
+    public PersonLookupResult getPersonsByIds(long[] ids) {
+        if (ids.length > maxLookupIds) {
+            throw new TooManyIdsException(ids.length, maxLookupIds);
+        }
+        Set<Long> requested = new LinkedHashSet<>();
+        for (long id : ids) {
+            requested.add(id);
+        }
+        List<Long> candidates = requested.stream()
+                .filter(id -> !negativeLookups.isPersonMissing(id))
+                .collect(Collectors.toList());
+
+        Map<Long, Person> found = personCache.getAll(candidates, missing -> transactionTemplate.execute(status -> {
+            long stamp = negativeLookups.stamp();
+            Map<Long, Person> loaded = new HashMap<>();
+            for (List<Long> chunk : partition(missing)) {
+                personRepository.findAllById(chunk).forEach(person -> loaded.put(person.getId(), person));
+            }
+            missing.stream()
+                    .filter(id -> !loaded.containsKey(id))
+                    .forEach(id -> negativeLookups.markPersonMissing(id, stamp));
+            return loaded;
+        }));
+
+        List<PersonView> persons = new ArrayList<>(found.size());
+        long[] missingIds = new long[requested.size() - found.size()];
+        int missingCount = 0;
+        for (Long id : requested) {
+            Person person = found.get(id);
+            if (person != null) {
+                persons.add(new PersonView(person));
+            } else {
+                missingIds[missingCount++] = id;
+            }
+        }
+        return new PersonLookupResult(persons, missingIds);
+    }
+
+    /**
+     * Saves (Inserts or Updates) a Person. An update must carry the version of the Person it was made from, and is
+     * rejected with an OptimisticLockingFailureException if the Person has been updated since.
      * @param person - The Person object to save.
      * @return The saved Person.
      */
     @Transactional
     public Person savePerson(Person person) {
-        return personRepository.save(person);
+        try {
+            Person saved = personRepository.save(person);
+            negativeLookups.personCreated(saved.getId());
+            membershipIndex.personSaved(saved.getId());
+            return saved;
+        } finally {
+            // Persisting assigns the ID to the supplied Person, so it is set here whether the save was an insert or
+            // an update, and whether or not it succeeded.
+            if (person.getId() != null) {
+                personCache.invalidate(person.getId());
+            }
+        }
+    }
+
+    /**
+     * Applies a merge patch to a Person with a single UPDATE of only the patched columns, without reading the
+     * Person first. The update is made only if the Person is still at the supplied version, and increments it.
+     * The Person is read only when the update misses, to tell a missing Person from a stale version.
+     * @param id - The ID of the Person.
+     * @param version - The version of the Person the patch was made from.
+     * @param patch - The fields to change.
+     * @return The new version of the Person.
+     */
+    @Transactional
+    public long patchPerson(long id, long version, PersonPatch patch) {
+        if (patch.getValues().isEmpty()) {
+            if (getPersonVersion(id) != version) {
+                throw new ObjectOptimisticLockingFailureException(Person.class, id);
+            }
+            return version;
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Person> update = builder.createCriteriaUpdate(Person.class);
+        Root<Person> root = update.from(Person.class);
+        for (Map.Entry<String, Object> value : patch.getValues().entrySet()) {
+            Path<Object> attribute = root.get(value.getKey());
+            if (value.getValue() != null) {
+                update.set(attribute, (Object) value.getValue());
+            } else if (PersonPatch.isNullable(value.getKey())) {
+                update.<Object>set(attribute, (Expression<Object>) builder.nullLiteral(attribute.getJavaType()));
+            } else {
+                throw new InvalidFieldsException(value.getKey(), "the field is required and can not be removed");
+            }
+        }
+        Path<Long> current = root.get("version");
+        update.set(current, builder.sum(current, 1L));
+        update.where(builder.equal(root.get("id"), id), builder.equal(current, version));
+
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            getPersonVersion(id);
+            throw new ObjectOptimisticLockingFailureException(Person.class, id);
+        }
+        personCache.invalidate(id);
+        return version + 1;
+    }
+
+    /**
+     * Gets a page of Persons in ID order. Pages are found by seeking past the last ID of the previous page
+     * rather than by offset, so every page costs the same to read. One extra row is read to tell whether
+     * another page follows.
+     * @param cursor - The cursor returned with the previous page, or null for the first page.
+     * @param size - The number of Persons to return, or null for the default. Capped at the configured maximum.
+     * @return The page of Persons and the cursor of the next page.
+     */
+    public PersonPage<PersonView> getPersons(String cursor, Integer size) {
+        long after = cursor == null ? Long.MIN_VALUE : decodeCursor(cursor);
+        int limit = pageLimit(size);
+
+        List<PersonView> persons = personRepository.findViewsAfter(after, PageRequest.of(0, limit + 1));
+        if (persons.size() <= limit) {
+            return new PersonPage<>(persons, null);
+        }
+        persons = persons.subList(0, limit);
+        return new PersonPage<>(persons, encodeCursor(persons.get(limit - 1).getId()));
+    }
+
+    /**
+     * Gets a page of Persons in ID order, reading and writing only the requested fields. Paged in the same way,
+     * and with the same cursors, as getPersons.
+     * @param cursor - The cursor returned with the previous page, or null for the first page.
+     * @param size - The number of Persons to return, or null for the default. Capped at the configured maximum.
+     * @param fields - Comma separated names of the fields to return.
+     * @return The page of Persons and the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public PersonPage<SparseView> getPersonsFields(String cursor, Integer size, String fields) {
+        FieldSet fieldSet = FieldSet.forPerson(fields);
+        long after = cursor == null ? Long.MIN_VALUE : decodeCursor(cursor);
+        int limit = pageLimit(size);
+
+        List<SparseView> persons = sparseFieldReader.findAfter(fieldSet, after, limit + 1);
+        if (persons.size() <= limit) {
+            return new PersonPage<>(persons, null);
+        }
+        persons = persons.subList(0, limit);
+        // The reader places the ID after the requested fields.
+        long last = ((Number) persons.get(limit - 1).getValue(fieldSet.size())).longValue();
+        return new PersonPage<>(persons, encodeCursor(last));
+    }
+
+    /**
+     * Gets the requested fields of a Person, selecting only their columns. IDs recently found not to exist are
+     * rejected without a query.
+     * @param id - The ID of the Person.
+     * @param fields - Comma separated names of the fields to return.
+     * @return The fields of the Person.
+     */
+    @Transactional(readOnly = true)
+    public SparseView getPersonFields(long id, String fields) {
+        FieldSet fieldSet = FieldSet.forPerson(fields);
+        if (negativeLookups.isPersonMissing(id)) {
+            throw new PersonNotFoundException(id);
+        }
+        long stamp = negativeLookups.stamp();
+        return sparseFieldReader.findById(fieldSet, id).orElseThrow(() -> {
+            negativeLookups.markPersonMissing(id, stamp);
+            return new PersonNotFoundException(id);
+        });
+    }
+
+    /**
+     * Clamps a requested page size to the configured bounds.
+     * @param size - The requested size, or null for the default.
+     * @return The number of Persons to return.
+     */
+    private int pageLimit(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    /**
+     * Encodes the last ID of a page as an opaque, URL safe cursor.
+     * @param id - The last ID of the page.
+     * @return The cursor.
+     */
+    private static String encodeCursor(long id) {
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decodes a cursor produced by encodeCursor.
+     * @param cursor - The cursor.
+     * @return The last ID of the previous page.
+     */
+    private static long decodeCursor(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new InvalidCursorException(cursor);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Gets the hit, miss and eviction counters of the Person cache.
+     * @return A snapshot of the counters.
+     */
+    public CacheStatistics getPersonCacheStatistics() {
+        return personCache.getStatistics();
+    }
+
+    /**
+     * Inserts a stream of new Persons. The stream is consumed lazily and split into chunks that are each
+     * committed in their own transaction, so only one chunk is ever held in memory. A chunk that fails is
+     * rolled back and reported without affecting the chunks around it.
+     * @param persons - The Persons to insert.
+     * @return The outcome of each chunk.
+     */
+    public BulkSaveResult savePersons(Iterator<Person> persons) {
+        BulkSaveResult result = new BulkSaveResult();
+        List<Person> chunk = new ArrayList<>(bulkChunkSize);
+        int index = 0;
+        String readError = null;
+
+        while (readError == null) {
+            chunk.clear();
+            try {
+                while (chunk.size() < bulkChunkSize && persons.hasNext()) {
+                    chunk.add(persons.next());
+                }
+            } catch (RuntimeException e) {
+                // The source can not be resumed once a record fails to parse, so nothing after it is read.
+                readError = "Unable to read record: " + e.getMessage();
+            }
+
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(chunk));
+                chunk.forEach(person -> {
+                    negativeLookups.personCreated(person.getId());
+                    membershipIndex.personSaved(person.getId());
+                });
+                result.addChunk(new BulkSaveChunk(index++, chunk.size(), true, null));
+            } catch (PersistenceException | DataAccessException | TransactionException e) {
+                result.addChunk(new BulkSaveChunk(index++, chunk.size(), false,
+                        "Data integrity violation. Please check that the data is valid and not malformed."));
+            }
+        }
+
+        if (readError != null) {
+            result.addChunk(new BulkSaveChunk(index, 1, false, readError));
+        }
+        return result;
+    }
+
+    /**
+     * Inserts a chunk of Persons within the current transaction, flushing one JDBC batch at a time and
+     * clearing the persistence context after each flush.
+     * @param chunk - The Persons to insert.
+     */
+    private void insertChunk(List<Person> chunk) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(bulkBatchSize);
+        for (int i = 0; i < chunk.size(); i++) {
+            entityManager.persist(chunk.get(i));
+            if ((i + 1) % bulkBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
     }
 
     /**
@@ -81,13 +555,30 @@ public class PersonManagementService {
      */
     @Transactional
     public void deletePersonById(long id) {
-        if(personRepository.existsById(id)) {
-            personRepository.deleteById(id);
+        if(personRepository.removeById(id) > 0) {
+            personCache.invalidate(id);
+            addressListLoads.forget(id);
+            membershipIndex.personDeleted(id);
         } else {
             throw new PersonNotFoundException(id);
         }
     }
 
+    /**
+     * Gets a Person together with their Addresses and Clubs. The Person is served from the cache where possible,
+     * and the Addresses and Clubs are read as views with one query each in a single transaction, however many
+     * there are, so nothing is left to load once the profile is returned.
+     * @param id - The ID of the Person.
+     * @return The Person with their Addresses and Clubs.
+     */
+    @Transactional(readOnly = true)
+    public PersonProfile getPersonProfile(long id) {
+        PersonView person = new PersonView(getPersonById(id));
+        return new PersonProfile(person,
+                addressRepository.findViewsByPersonId(id),
+                clubMembershipRepository.findClubViewsByPersonId(id));
+    }
+
     /**
      * Saves (Inserts or Updates) an Address.
      * @param address - The Address object to save.
@@ -95,29 +586,116 @@ public class PersonManagementService {
      */
     @Transactional
     public Address saveAddress(Address address) {
-        return addressRepository.save(address);
+        Address saved = addressRepository.save(address);
+        addressListLoads.forget(saved.getPerson().getId());
+        negativeLookups.addressCreated(saved.getId());
+        return saved;
     }
 
     /**
-     * Gets the list of all Address objects by its attached Person's ID
+     * Gets the list of all Address objects by its attached Person's ID.
+     * The Person and their Addresses are read with one query, and concurrent loads for the same Person share
+     * that query. Each caller is given its own unmodifiable list of copies.
      * @param id - The ID of the Person to find all Addresses.
      * @return The List of Address objects.
      */
     public List<Address> getAddressByPersonId(long id) {
-        if(personRepository.existsById(id)) {
-            return addressRepository.findByPersonId(id);
-        } else {
-            throw new PersonNotFoundException(id);
+        return addressListLoads.execute(id, () -> {
+            List<Object[]> rows = addressRepository.findPersonWithAddresses(id);
+            if (rows.isEmpty()) {
+                throw new PersonNotFoundException(id);
+            }
+            return rows.stream()
+                    .map(row -> (Address) row[1])
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toUnmodifiableList());
+        });
+    }
+
+    /**
+     * Copies a Person's Addresses, sharing one copy of the Person between them.
+     * @param addresses - The Addresses of a single Person.
+     * @return An unmodifiable list of the copies.
+     */
+    private static List<Address> copyAddresses(List<Address> addresses) {
+        if (addresses.isEmpty()) {
+            return addresses;
         }
+        Person person = new Person(addresses.get(0).getPerson());
+        return addresses.stream()
+                .map(address -> new Address(address, person))
+                .collect(Collectors.toUnmodifiableList());
     }
 
     /**
-     * Gets an Optional-wrapped Address object by its ID.
+     * Gets an Optional-wrapped Address object by its ID. IDs recently found not to exist are rejected without
+     * a query.
      * @param id - The ID of the Address.
      * @return An Address with matching ID.
      */
     public Address getAddressById(long id) {
-        return addressRepository.findById(id).orElseThrow(() -> new AddressNotFoundException(id));
+        if (negativeLookups.isAddressMissing(id)) {
+            throw new AddressNotFoundException(id);
+        }
+        long stamp = negativeLookups.stamp();
+        return addressRepository.findById(id).orElseThrow(() -> {
+            negativeLookups.markAddressMissing(id, stamp);
+            return new AddressNotFoundException(id);
+        });
+    }
+
+    /**
+     * Gets an Address by its ID as a view, read with a projection that loads neither the entity nor its Person.
+     * IDs recently found not to exist are rejected without a query.
+     * @param id - The ID of the Address.
+     * @return A view of the Address with matching ID.
+     */
+    public AddressView getAddressView(long id) {
+        if (negativeLookups.isAddressMissing(id)) {
+            throw new AddressNotFoundException(id);
+        }
+        long stamp = negativeLookups.stamp();
+        return addressRepository.findViewById(id).orElseThrow(() -> {
+            negativeLookups.markAddressMissing(id, stamp);
+            return new AddressNotFoundException(id);
+        });
+    }
+
+    /**
+     * Gets only the version of an Address, with a query that reads no other column. IDs recently found not to
+     * exist are rejected without a query.
+     * @param id - The ID of the Address.
+     * @return The current version of the Address.
+     */
+    public long getAddressVersion(long id) {
+        if (negativeLookups.isAddressMissing(id)) {
+            throw new AddressNotFoundException(id);
+        }
+        long stamp = negativeLookups.stamp();
+        return addressRepository.findVersionById(id).orElseThrow(() -> {
+            negativeLookups.markAddressMissing(id, stamp);
+            return new AddressNotFoundException(id);
+        });
+    }
+
+    /**
+     * Gets the requested fields of an Address, selecting only their columns. IDs recently found not to exist are
+     * rejected without a query.
+     * @param id - The ID of the Address.
+     * @param fields - Comma separated names of the fields to return.
+     * @return The fields of the Address.
+     */
+    @Transactional(readOnly = true)
+    public SparseView getAddressFields(long id, String fields) {
+        FieldSet fieldSet = FieldSet.forAddress(fields);
+        if (negativeLookups.isAddressMissing(id)) {
+            throw new AddressNotFoundException(id);
+        }
+        long stamp = negativeLookups.stamp();
+        return sparseFieldReader.findById(fieldSet, id).orElseThrow(() -> {
+            negativeLookups.markAddressMissing(id, stamp);
+            return new AddressNotFoundException(id);
+        });
     }
 
     /**
@@ -126,8 +704,9 @@ public class PersonManagementService {
      */
     @Transactional
     public void deleteAllAddressForPersonById(long id) {
-        if(personRepository.existsById(id)) {
-            addressRepository.deleteAddressByPersonId(id);
+        // Only an empty result needs a second query to tell a Person without Addresses from a missing Person.
+        if(addressRepository.deleteAddressByPersonId(id) > 0 || personRepository.existsById(id)) {
+            addressListLoads.forget(id);
         } else {
             throw new PersonNotFoundException(id);
         }
@@ -139,21 +718,34 @@ public class PersonManagementService {
      */
     @Transactional
     public void deleteAddressById(long id) {
-        if(addressRepository.existsById(id)) {
-            addressRepository.deleteById(id);
-        } else {
+        if(addressRepository.removeById(id) == 0) {
             throw new AddressNotFoundException(id);
         }
     }
 
     /**
-     * Saves (Inserts or Updates) a Club.
+     * Saves (Inserts or Updates) a Club. A Club without an ID updates the existing Club of the same name, if any,
+     * whatever its version.
      * @param club - The Club object to save.
      * @return The saved Club.
      */
     @Transactional
     public Club saveClub(Club club) {
-        return clubRepository.save(club);
+        if (club.getId() == null) {
+            Integer id = clubDictionary.find(club.getName());
+            // The existing Club is left in the persistence context, so the merge below does not read it again.
+            Club existing = id == null ? null : clubRepository.findById(id).orElse(null);
+            if (existing != null) {
+                club.setId(existing.getId());
+                club.setVersion(existing.getVersion());
+            }
+        }
+        Club saved = clubRepository.save(club);
+        clubLoads.forget(saved.getName());
+        negativeLookups.clubCreated(saved.getName());
+        clubDictionary.clubSaved(saved.getName(), saved.getId());
+        membershipIndex.clubSaved(saved.getId());
+        return saved;
     }
 
     /**
@@ -162,20 +754,35 @@ public class PersonManagementService {
      */
     @Transactional
     public void deleteClubByName(String name) {
-        if(clubRepository.existsById(name)) {
-            clubRepository.deleteById(name);
+        Integer id = clubDictionary.find(name);
+        if(clubRepository.removeByName(name) > 0) {
+            clubLoads.forget(name);
+            clubDictionary.clubDeleted(name);
+            if (id != null) {
+                membershipIndex.clubDeleted(id);
+            }
         } else {
             throw new ClubNotFoundException(name);
         }
     }
 
     /**
-     * Gets a Club by its name identifier.
+     * Gets a Club by its name identifier. Concurrent loads of the same Club share a single query, and names
+     * recently found not to exist are rejected without a query.
      * @param name The name of the club to get.
      * @return A Club object with a matching name.
      */
     public Club getClubByName(String name) {
-        return clubRepository.findById(name).orElseThrow(() -> new ClubNotFoundException(name));
+        if (negativeLookups.isClubMissing(name)) {
+            throw new ClubNotFoundException(name);
+        }
+        return clubLoads.execute(name, () -> {
+            long stamp = negativeLookups.stamp();
+            return clubRepository.findByName(name).orElseThrow(() -> {
+                negativeLookups.markClubMissing(name, stamp);
+                return new ClubNotFoundException(name);
+            });
+        });
     }
 
     /**
@@ -184,11 +791,179 @@ public class PersonManagementService {
      * @param clubName - The Club where the person is to be added.
      * @return The result ClubMembership.
      */
+    @Transactional
     public ClubMembership addClubMembership(long personId, String clubName) {
         Person person = getPersonById(personId);
         Club club = getClubByName(clubName);
-        ClubMembership clubMembership = new ClubMembership(person, club);
-        return clubMembershipRepository.save(clubMembership);
+        ClubMembership clubMembership = clubMembershipRepository.save(new ClubMembership(person, club));
+        membershipIndex.memberAdded(personId, club.getId());
+        return clubMembership;
+    }
+
+    /**
+     * Applies a batch of membership additions and removals in one transaction. The Persons, Clubs and existing
+     * memberships referenced by the whole batch are read with set-based queries, the operations are evaluated in
+     * order against that state, and only the net changes are written, as batched statements. Operations naming a
+     * missing Person or Club are skipped and reported rather than failing the batch.
+     * @param operations - The operations to apply, in order.
+     * @return The outcome of each operation, in the same order.
+     */
+    @Transactional
+    public List<MembershipOperationResult> applyMembershipOperations(List<MembershipOperation> operations) {
+        Set<Long> personIds = new HashSet<>();
+        Map<String, Integer> clubIds = new HashMap<>();
+        for (MembershipOperation operation : operations) {
+            Integer clubId = clubDictionary.find(operation.getClubName());
+            if (operation.getPersonId() != null && clubId != null) {
+                personIds.add(operation.getPersonId());
+                clubIds.put(operation.getClubName(), clubId);
+            }
+        }
+
+        Set<Long> existingPersons = new HashSet<>();
+        for (List<Long> chunk : partition(personIds)) {
+            existingPersons.addAll(personRepository.findExistingIds(chunk));
+        }
+        Set<Integer> existingClubs = new HashSet<>();
+        for (List<Integer> chunk : partition(new HashSet<>(clubIds.values()))) {
+            existingClubs.addAll(clubRepository.findExistingIds(chunk));
+        }
+
+        Set<ClubMembershipKey> original = new HashSet<>();
+        for (List<Long> personChunk : partition(existingPersons)) {
+            for (List<Integer> clubChunk : partition(existingClubs)) {
+                for (Object[] row : clubMembershipRepository.findAmong(personChunk, clubChunk)) {
+                    original.add(new ClubMembershipKey(((Number) row[0]).longValue(), ((Number) row[1]).intValue()));
+                }
+            }
+        }
+
+        Set<ClubMembershipKey> current = new HashSet<>(original);
+        List<MembershipOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            MembershipOperation operation = operations.get(i);
+            Integer clubId = clubIds.get(operation.getClubName());
+            MembershipOutcome outcome;
+            if (operation.getAction() == null || operation.getPersonId() == null || operation.getClubName() == null) {
+                outcome = MembershipOutcome.INVALID;
+            } else if (clubId == null || !existingClubs.contains(clubId)) {
+                outcome = MembershipOutcome.CLUB_NOT_FOUND;
+            } else if (!existingPersons.contains(operation.getPersonId())) {
+                outcome = MembershipOutcome.PERSON_NOT_FOUND;
+            } else {
+                ClubMembershipKey key = new ClubMembershipKey(operation.getPersonId(), clubId);
+                if (operation.getAction() == MembershipAction.ADD) {
+                    outcome = current.add(key) ? MembershipOutcome.ADDED : MembershipOutcome.ALREADY_MEMBER;
+                } else {
+                    outcome = current.remove(key) ? MembershipOutcome.REMOVED : MembershipOutcome.NOT_MEMBER;
+                }
+            }
+            results.add(new MembershipOperationResult(i, outcome));
+        }
+
+        List<ClubMembershipKey> inserts = new ArrayList<>();
+        for (ClubMembershipKey key : current) {
+            if (!original.contains(key)) {
+                inserts.add(key);
+            }
+        }
+        List<ClubMembershipKey> deletes = new ArrayList<>();
+        for (ClubMembershipKey key : original) {
+            if (!current.contains(key)) {
+                deletes.add(key);
+            }
+        }
+        writeMemberships(inserts, deletes);
+        return results;
+    }
+
+    /**
+     * Makes the members of a Club exactly the supplied Persons. The current members are read into a bitmap and
+     * compared with the roster by bitmap difference, so only the memberships that change are written, and only
+     * the IDs about to be inserted are checked for existence. An unchanged roster costs a single query.
+     * @param clubName - The name of the Club.
+     * @param personIds - The IDs of the Persons who should be members. Duplicates are ignored.
+     * @return The number of memberships added and removed, and the roster IDs skipped as missing.
+     */
+    @Transactional
+    public RosterReplaceResult replaceClubMembers(String clubName, long[] personIds) {
+        int clubId = clubDictionary.getId(clubName);
+        Roaring64NavigableMap current = new Roaring64NavigableMap();
+        jdbcTemplate.query("select person_id from club_membership where club_id = ?",
+                (RowCallbackHandler) row -> current.addLong(row.getLong(1)), clubId);
+        if (current.isEmpty() && !clubRepository.existsById(clubId)) {
+            throw new ClubNotFoundException(clubName);
+        }
+
+        Roaring64NavigableMap roster = Roaring64NavigableMap.bitmapOf(personIds);
+        Roaring64NavigableMap additions = new Roaring64NavigableMap();
+        additions.or(roster);
+        additions.andNot(current);
+        Roaring64NavigableMap removals = current;
+        removals.andNot(roster);
+
+        Roaring64NavigableMap missing = new Roaring64NavigableMap();
+        if (!additions.isEmpty()) {
+            List<Long> candidates = new ArrayList<>();
+            additions.forEach(candidates::add);
+            Roaring64NavigableMap existing = new Roaring64NavigableMap();
+            for (List<Long> chunk : partition(candidates)) {
+                personRepository.findExistingIds(chunk).forEach(existing::addLong);
+            }
+            missing.or(additions);
+            missing.andNot(existing);
+            additions.and(existing);
+        }
+
+        List<ClubMembershipKey> inserts = new ArrayList<>();
+        additions.forEach(personId -> inserts.add(new ClubMembershipKey(personId, clubId)));
+        List<ClubMembershipKey> deletes = new ArrayList<>();
+        removals.forEach(personId -> deletes.add(new ClubMembershipKey(personId, clubId)));
+        writeMemberships(inserts, deletes);
+        return new RosterReplaceResult(inserts.size(), deletes.size(), missing.toArray());
+    }
+
+    /**
+     * Inserts and deletes memberships with batched statements within the current transaction, and applies the
+     * same changes to the membership index once it commits.
+     * @param inserts - The memberships to insert.
+     * @param deletes - The memberships to delete.
+     */
+    private void writeMemberships(List<ClubMembershipKey> inserts, List<ClubMembershipKey> deletes) {
+        jdbcTemplate.batchUpdate("insert into club_membership (person_id, club_id) values (?, ?)",
+                inserts, bulkBatchSize, (statement, key) -> {
+                    statement.setLong(1, key.getPersonId());
+                    statement.setInt(2, key.getClubId());
+                });
+        jdbcTemplate.batchUpdate("delete from club_membership where person_id = ? and club_id = ?",
+                deletes, bulkBatchSize, (statement, key) -> {
+                    statement.setLong(1, key.getPersonId());
+                    statement.setInt(2, key.getClubId());
+                });
+        inserts.forEach(key -> membershipIndex.memberAdded(key.getPersonId(), key.getClubId()));
+        deletes.forEach(key -> membershipIndex.memberRemoved(key.getPersonId(), key.getClubId()));
+    }
+
+    /**
+     * Splits values into lists no longer than the bulk chunk size, to bound the size of IN clauses.
+     * @param values - The values to split.
+     * @param <T> - The type of the values.
+     * @return The chunks.
+     */
+    private <T> List<List<T>> partition(Collection<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(Math.min(values.size(), bulkChunkSize));
+        for (T value : values) {
+            if (chunk.size() == bulkChunkSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(bulkChunkSize);
+            }
+            chunk.add(value);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
     }
 
     /**
@@ -198,32 +973,62 @@ public class PersonManagementService {
      */
     @Transactional
     public void deleteClubMembership(long personId, String clubName) {
-        if (!clubRepository.existsById(clubName)) {
-            throw new ClubNotFoundException(clubName);
+        int clubId = clubDictionary.getId(clubName);
+        if (clubMembershipRepository.deleteByIdPersonIdAndIdClubId(personId, clubId) > 0) {
+            membershipIndex.memberRemoved(personId, clubId);
+            return;
         }
 
+        // Nothing was deleted, find out whether that is because the Person does not exist.
         if (!personRepository.existsById(personId)) {
             throw new PersonNotFoundException(personId);
         }
-        clubMembershipRepository.deleteByIdPersonIdAndIdClubName(personId, clubName);
     }
 
     /**
-     * Checks to see if a Person has membership with a Club.
+     * Checks to see if a Person has membership with a Club. Answered from the membership index without going
+     * to the database.
      * @param personId - The ID of the Person to check.
      * @param clubName - The name of the Club to check.
      * @return True if member, false if no relation.
      */
     public boolean isPersonClubMember(long personId, String clubName) {
-        if (!clubRepository.existsById(clubName)) {
+        Integer clubId = clubDictionary.find(clubName);
+        if (clubId == null || !membershipIndex.containsClub(clubId)) {
             throw new ClubNotFoundException(clubName);
         }
 
-        if (!personRepository.existsById(personId)) {
+        if (!membershipIndex.containsPerson(personId)) {
             throw new PersonNotFoundException(personId);
         }
 
-        return clubMembershipRepository.existsByIdPersonIdAndIdClubName(personId, clubName);
+        return membershipIndex.isMember(personId, clubId);
+    }
+
+    /**
+     * Evaluates a set-algebra expression over Club memberships, such as {@code "Club A" AND "Club B" ANDNOT C},
+     * using bitmap operations on the membership index. No Person is loaded.
+     * @param expression - The expression to evaluate. See ClubExpression for the syntax.
+     * @param countOnly - True to return only the number of matching Persons.
+     * @return The number of matching Persons and, unless countOnly, their IDs.
+     */
+    public ClubQueryResult queryClubMembers(String expression, boolean countOnly) {
+        ClubExpression parsed = ClubExpression.parse(expression);
+        if (countOnly) {
+            return new ClubQueryResult(membershipIndex.count(parsed), null);
+        }
+        long[] personIds = membershipIndex.members(parsed);
+        return new ClubQueryResult(personIds.length, personIds);
+    }
+
+    /**
+     * Gets the Persons who share the most Clubs with a Person, answered from the membership index.
+     * @param personId - The ID of the Person.
+     * @param limit - The number of Persons to return. Capped at the configured maximum.
+     * @return The Persons sharing at least one Club, most shared Clubs first.
+     */
+    public List<CoMember> getCoMembers(long personId, int limit) {
+        return coMembershipEngine.topCoMembers(personId, Math.max(1, Math.min(limit, maxCoMembers)));
     }
 
     /**
@@ -232,11 +1037,10 @@ public class PersonManagementService {
      */
     @Transactional
     public void deleteClubMembershipByPerson(long id) {
-        if (!personRepository.existsById(id)) {
+        if (clubMembershipRepository.deleteByIdPersonId(id) == 0 && !personRepository.existsById(id)) {
             throw new PersonNotFoundException(id);
         }
-
-        clubMembershipRepository.deleteByIdPersonId(id);
+        membershipIndex.personMembershipsRemoved(id);
     }
 
 
@@ -246,50 +1050,59 @@ public class PersonManagementService {
      */
     @Transactional
     public void deleteClubMembershipByClub(String name) {
-        if (!clubRepository.existsById(name)) {
-            throw new ClubNotFoundException(name);
-        }
-
-        clubMembershipRepository.deleteByIdClubName(name);
+        int clubId = clubDictionary.getId(name);
+        clubMembershipRepository.deleteByIdClubId(clubId);
+        membershipIndex.clubMembershipsRemoved(clubId);
     }
 
     /**
-     * Gets all Clubs where a Person is a member.
+     * Gets all Clubs where a Person is a member. The Person and their Clubs are read with one query.
      * @param id - The ID of the Person to Check.
      * @return A list of Clubs where the supplied Person is a member.
      */
     public List<Club> getClubMembershipForPerson(long id) {
-        if (!personRepository.existsById(id)) {
+        List<Object[]> rows = clubMembershipRepository.findPersonWithClubs(id);
+        if (rows.isEmpty()) {
             throw new PersonNotFoundException(id);
         }
 
-        return clubMembershipRepository.findByIdPersonId(id)
-                .stream()
-                .map(ClubMembership::getClub)
+        return rows.stream()
+                .map(row -> (Club) row[1])
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Gets all Persons that belong to a specified Club.
+     * Gets all Persons that belong to a specified Club. The Club and its Persons are read with one query.
      * @param name - The name of the Club to check.
      * @return A list of Persons where they belong to a supplied Club.
      */
     public List<Person> getPersonMembersForClub(String name) {
-        if (!clubRepository.existsById(name)) {
+        List<Object[]> rows = clubMembershipRepository.findClubWithPersons(name);
+        if (rows.isEmpty()) {
             throw new ClubNotFoundException(name);
         }
 
-        return clubMembershipRepository.findByIdClubName(name)
-                .stream()
-                .map(ClubMembership::getPerson)
+        return rows.stream()
+                .map(row -> (Person) row[1])
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Clears the entire datastore.
+     * Clears the entire datastore. Each table is emptied with a single statement, children first, in one
+     * transaction.
      */
     protected void clear() {
-        personRepository.deleteAll();
-        clubRepository.deleteAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            clubMembershipRepository.deleteAllInBatch();
+            addressRepository.deleteAllInBatch();
+            personRepository.deleteAllInBatch();
+            clubRepository.deleteAllInBatch();
+        });
+        personCache.invalidateAll();
+        negativeLookups.invalidateAll();
+        clubDictionary.invalidateAll();
+        membershipIndex.invalidateAll();
     }
 }
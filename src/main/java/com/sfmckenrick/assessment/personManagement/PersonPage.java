@@ -0,0 +1,46 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated Person listing.
+ * @param <T> - The read model of each Person.
+ */
+public class PersonPage<T> {
+
+    /**
+     * The Persons on this page, in ID order.
+     */
+    private final List<T> persons;
+
+    /**
+     * The opaque cursor of the next page, or null if this is the last page.
+     */
+    private final String next;
+
+    /**
+     * Constructor.
+     * @param persons - The Persons on this page.
+     * @param next - The cursor of the next page, or null if this is the last page.
+     */
+    public PersonPage(List<T> persons, String next) {
+        this.persons = persons;
+        this.next = next;
+    }
+
+    /**
+     * Persons Accessor.
+     * @return The Persons on this page, in ID order.
+     */
+    public List<T> getPersons() {
+        return persons;
+    }
+
+    /**
+     * Next Accessor.
+     * @return The opaque cursor of the next page, or null if this is the last page.
+     */
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidFieldsException;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A JSON Merge Patch of a Person. Only the members present in the patch are recorded: a member set to null removes
+ * the field's value, and an absent member leaves it unchanged. Members that are not patchable fields, including the
+ * ID and version, are rejected.
+ */
+public class PersonPatch {
+
+    /**
+     * The new value of each patched attribute, by attribute name, in patch order.
+     */
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    /**
+     * Sets the First name to the supplied value.
+     * @param firstName - The first name to set.
+     */
+    public void setFirstName(String firstName) {
+        values.put("firstName", firstName);
+    }
+
+    /**
+     * Sets the middle name to the supplied value.
+     * @param middleName - The middle name to set, or null to remove it.
+     */
+    public void setMiddleName(String middleName) {
+        values.put("middleName", middleName);
+    }
+
+    /**
+     * Sets the last name to the supplied value.
+     * @param lastName - The last name to set.
+     */
+    public void setLastName(String lastName) {
+        values.put("lastName", lastName);
+    }
+
+    /**
+     * Sets the Date of Birth to the supplied value.
+     * @param dateOfBirth - The date object that represents the date of birth.
+     */
+    public void setDateOfBirth(Date dateOfBirth) {
+        values.put("dateOfBirth", dateOfBirth);
+    }
+
+    /**
+     * Rejects a member that is not a patchable field.
+     * @param field - The name of the member.
+     * @param value - The value of the member.
+     * @throws InvalidFieldsException - Always.
+     */
+    @JsonAnySetter
+    void reject(String field, Object value) {
+        throw new InvalidFieldsException(field, "the field can not be patched");
+    }
+
+    /**
+     * Values Accessor.
+     * @return The new value of each patched attribute, by attribute name, in patch order.
+     */
+    Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Whether an attribute's value may be removed.
+     * @param attribute - The name of the attribute.
+     * @return True if the attribute may be set to null.
+     */
+    static boolean isNullable(String attribute) {
+        return attribute.equals("middleName");
+    }
+}
@@ -0,0 +1,60 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.List;
+
+/**
+ * A Person together with their Addresses and Clubs, assembled for a single response.
+ */
+public class PersonProfile {
+
+    /**
+     * The Person.
+     */
+    private final PersonView person;
+
+    /**
+     * The Addresses of the Person.
+     */
+    private final List<AddressView> addresses;
+
+    /**
+     * The Clubs the Person is a member of.
+     */
+    private final List<ClubView> clubs;
+
+    /**
+     * Constructor.
+     * @param person - The Person.
+     * @param addresses - The Addresses of the Person.
+     * @param clubs - The Clubs the Person is a member of.
+     */
+    public PersonProfile(PersonView person, List<AddressView> addresses, List<ClubView> clubs) {
+        this.person = person;
+        this.addresses = addresses;
+        this.clubs = clubs;
+    }
+
+    /**
+     * Person Accessor.
+     * @return The Person.
+     */
+    public PersonView getPerson() {
+        return person;
+    }
+
+    /**
+     * Addresses Accessor.
+     * @return The Addresses of the Person.
+     */
+    public List<AddressView> getAddresses() {
+        return addresses;
+    }
+
+    /**
+     * Clubs Accessor.
+     * @return The Clubs the Person is a member of.
+     */
+    public List<ClubView> getClubs() {
+        return clubs;
+    }
+}
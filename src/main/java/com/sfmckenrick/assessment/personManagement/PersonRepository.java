@@ -1,10 +1,65 @@
 package com.sfmckenrick.assessment.personManagement;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Interface that handles the CRUD operations on the data store.
  * @author Scott McKenrick <sbm5967@arl.psu.edu>
  */
 public interface PersonRepository extends JpaRepository<Person, Long> {
+
+    /**
+     * Deletes a Person with a single statement, without loading it first.
+     * @param id - The ID of the Person to delete.
+     * @return The number of Persons deleted, 0 if the Person did not exist.
+     */
+    @Modifying
+    @Query("delete from Person p where p.id = :id")
+    int removeById(@Param("id") Long id);
+
+    /**
+     * Gets the Persons with an ID greater than the supplied ID, in ID order. The primary key index is used
+     * to seek directly to the first row, so the cost does not depend on how far into the table it is.
+     * @param after - The exclusive lower bound of the IDs to return.
+     * @param page - Limits the number of Persons returned. Only the page size is meaningful.
+     * @return The Persons following the supplied ID.
+     */
+    @Query("select new com.sfmckenrick.assessment.personManagement.PersonView(p.id, p.firstName, p.middleName, "
+            + "p.lastName, p.dateOfBirth, p.version) from Person p where p.id > :after order by p.id")
+    List<PersonView> findViewsAfter(@Param("after") long after, Pageable page);
+
+    /**
+     * Gets only the version of a Person, without reading any other column.
+     * @param id - The ID of the Person.
+     * @return The version of the Person, if it exists.
+     */
+    @Query("select p.version from Person p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Streams the ID of every Person. Must be consumed and closed within a transaction.
+     * @return The IDs of all Persons.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.id from Person p")
+    Stream<Long> streamIds();
+
+    /**
+     * Gets which of the supplied IDs belong to existing Persons, in a single query.
+     * @param ids - The IDs to check.
+     * @return The IDs that exist.
+     */
+    @Query("select p.id from Person p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
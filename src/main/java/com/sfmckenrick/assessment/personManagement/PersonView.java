@@ -0,0 +1,127 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.Date;
+
+/**
+ * Immutable read model of a Person, built directly from query results without loading the entity.
+ */
+public class PersonView {
+
+    /**
+     * The primary key identifier.
+     */
+    private final Long id;
+
+    /**
+     * First Name of this person.
+     */
+    private final String firstName;
+
+    /**
+     * Middle Name of this person.
+     */
+    private final String middleName;
+
+    /**
+     * Last Name of this person.
+     */
+    private final String lastName;
+
+    /**
+     * DoB of this person.
+     */
+    private final Date dateOfBirth;
+
+    /**
+     * The version of this person when it was read, or null if it was not read. An update must carry it back.
+     */
+    private final Long version;
+
+    /**
+     * Constructor for a view read without its version.
+     * @param id - The primary key identifier.
+     * @param firstName - First name of the person.
+     * @param middleName - Middle name of the person.
+     * @param lastName - Last name of the person.
+     * @param dateOfBirth - DoB of the person.
+     */
+    public PersonView(Long id, String firstName, String middleName, String lastName, Date dateOfBirth) {
+        this(id, firstName, middleName, lastName, dateOfBirth, null);
+    }
+
+    /**
+     * Constructor. Used by JPQL constructor expressions.
+     * @param id - The primary key identifier.
+     * @param firstName - First name of the person.
+     * @param middleName - Middle name of the person.
+     * @param lastName - Last name of the person.
+     * @param dateOfBirth - DoB of the person.
+     * @param version - The version of the person.
+     */
+    public PersonView(Long id, String firstName, String middleName, String lastName, Date dateOfBirth,
+                      Long version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.middleName = middleName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+        this.version = version;
+    }
+
+    /**
+     * Constructor.
+     * @param person - The Person to copy.
+     */
+    public PersonView(Person person) {
+        this(person.getId(), person.getFirstName(), person.getMiddleName(), person.getLastName(),
+                person.getDateOfBirth(), person.getVersion());
+    }
+
+    /**
+     * ID Accessor.
+     * @return The primary key identifier.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * First Name Accessor.
+     * @return The first name.
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Middle Name Accessor.
+     * @return The middle name.
+     */
+    public String getMiddleName() {
+        return middleName;
+    }
+
+    /**
+     * Last Name Accessor.
+     * @return The last name.
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Date of Birth Accessor.
+     * @return The DoB.
+     */
+    public Date getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    /**
+     * Version Accessor.
+     * @return The version of the person when it was read, or null if it was not read.
+     */
+    public Long getVersion() {
+        return version;
+    }
+}
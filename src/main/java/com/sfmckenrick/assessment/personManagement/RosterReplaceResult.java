@@ -0,0 +1,58 @@
+package com.sfmckenrick.assessment.personManagement;
+
+/**
+ * The outcome of replacing the members of a Club.
+ */
+public class RosterReplaceResult {
+
+    /**
+     * The number of memberships inserted.
+     */
+    private final long added;
+
+    /**
+     * The number of memberships deleted.
+     */
+    private final long removed;
+
+    /**
+     * The IDs in the roster that do not belong to an existing Person, which were skipped.
+     */
+    private final long[] missingPersonIds;
+
+    /**
+     * Constructor.
+     * @param added - The number of memberships inserted.
+     * @param removed - The number of memberships deleted.
+     * @param missingPersonIds - The IDs in the roster that do not belong to an existing Person.
+     */
+    public RosterReplaceResult(long added, long removed, long[] missingPersonIds) {
+        this.added = added;
+        this.removed = removed;
+        this.missingPersonIds = missingPersonIds;
+    }
+
+    /**
+     * Added Accessor.
+     * @return The number of memberships inserted.
+     */
+    public long getAdded() {
+        return added;
+    }
+
+    /**
+     * Removed Accessor.
+     * @return The number of memberships deleted.
+     */
+    public long getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Missing Person IDs Accessor.
+     * @return The IDs in the roster that do not belong to an existing Person, which were skipped.
+     */
+    public long[] getMissingPersonIds() {
+        return missingPersonIds;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent loads of the same key. The first caller for a key runs the load on its own thread and
+ * every caller that arrives while it is in flight waits for the same result or the same exception. Each caller,
+ * the first included, is given its own copy of the result, so changes one caller makes are never seen by another.
+ * Nothing is retained once the load completes.
+ * @param <K> - The key type.
+ * @param <V> - The loaded value type.
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * The loads currently in flight.
+     */
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Copies a loaded value for a caller.
+     */
+    private final UnaryOperator<V> copier;
+
+    /**
+     * Constructor.
+     * @param copier - Copies a loaded value for a caller. May be the identity for immutable values.
+     */
+    public SingleFlight(UnaryOperator<V> copier) {
+        this.copier = copier;
+    }
+
+    /**
+     * Runs a load, or joins the load of the same key that is already in flight.
+     * @param key - The key being loaded.
+     * @param loader - Performs the load. Only invoked if no load of the key is in flight.
+     * @return A copy of the loaded value.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            return copier.apply(join(existing));
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return copier.apply(value);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches the load of a key that is in flight, so that later callers start a fresh load instead of
+     * joining one that may have read data from before a write. Callers already waiting are unaffected.
+     * @param key - The key that was written.
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Waits for a load to complete, rethrowing the exact exception it failed with.
+     * @param flight - The load to wait for.
+     * @param <V> - The loaded value type.
+     * @return The loaded value.
+     */
+    static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads only the requested fields of Persons and Addresses, with criteria queries that select just the matching
+ * columns as tuples. No entity is loaded, so nothing is added to the persistence context.
+ */
+@Component
+public class SparseFieldReader {
+
+    /**
+     * The shared EntityManager.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor.
+     * @param entityManager - The shared EntityManager.
+     */
+    @Autowired
+    public SparseFieldReader(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Reads the fields of a single entity by ID.
+     * @param fields - The fields to read.
+     * @param id - The ID of the entity.
+     * @return The fields of the entity, if it exists.
+     */
+    public Optional<SparseView> findById(FieldSet fields, long id) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(fields.getEntity());
+        query.multiselect(select(fields, root)).where(builder.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(tuple -> new SparseView(fields, tuple.toArray()));
+    }
+
+    /**
+     * Reads the fields of the entities with an ID greater than the supplied ID, in ID order. The ID is read
+     * after the requested fields whether or not it was requested, so that callers can find where the page ends.
+     * The lower bound is passed as a parameter, because Hibernate inlines numeric criteria literals and can not parse
+     * Long.MIN_VALUE back.
+     * @param fields - The fields to read.
+     * @param after - The exclusive lower bound of the IDs to return.
+     * @param limit - The maximum number of entities to return.
+     * @return The fields of each entity, followed by its ID.
+     */
+    public List<SparseView> findAfter(FieldSet fields, long after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(fields.getEntity());
+        Path<Long> id = root.get("id");
+        List<Selection<?>> selections = select(fields, root);
+        selections.add(id);
+        ParameterExpression<Long> lowerBound = builder.parameter(Long.class);
+        query.multiselect(selections).where(builder.greaterThan(id, lowerBound)).orderBy(builder.asc(id));
+
+        return entityManager.createQuery(query).setParameter(lowerBound, after).setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> new SparseView(fields, tuple.toArray()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the selection of each field, following its attribute path from the root.
+     * @param fields - The fields to select.
+     * @param root - The entity root.
+     * @return The selections, in field order, in a list that may be added to.
+     */
+    private List<Selection<?>> select(FieldSet fields, Root<?> root) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        for (int i = 0; i < fields.size(); i++) {
+            Path<?> path = root;
+            for (String attribute : fields.getPath(i)) {
+                path = path.get(attribute);
+            }
+            selections.add(path);
+        }
+        return selections;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * Immutable read model holding only the fields of an entity that a client asked for. It writes itself as a JSON
+ * object of exactly those fields, in the order they were asked for, without bean introspection.
+ */
+public final class SparseView implements JsonSerializable {
+
+    /**
+     * The fields held.
+     */
+    private final FieldSet fields;
+
+    /**
+     * The value of each field. May be longer than the field set, in which case the extra values are not written.
+     */
+    private final Object[] values;
+
+    /**
+     * Constructor.
+     * @param fields - The fields held.
+     * @param values - The value of each field, in the same order.
+     */
+    public SparseView(FieldSet fields, Object[] values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Gets the value of a field.
+     * @param index - The position of the field in the field set.
+     * @return The value.
+     */
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject(this);
+        writeFields(gen, serializers);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(this, JsonToken.START_OBJECT));
+        writeFields(gen, serializers);
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+
+    /**
+     * Writes each field as a name and value.
+     * @param gen - The output.
+     * @param serializers - Serializes values according to the mapper's settings.
+     * @throws IOException - If the output can not be written.
+     */
+    private void writeFields(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            gen.writeFieldName(fields.getName(i));
+            serializers.defaultSerializeValue(values[i], gen);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded min-heap that keeps the K highest scoring IDs offered to it, held in primitive arrays.
+ * Ties are broken in favour of the lower ID, so the result is deterministic.
+ */
+final class TopKHeap {
+
+    private final long[] ids;
+
+    private final int[] scores;
+
+    private int size;
+
+    /**
+     * Constructor.
+     * @param k - The number of entries to keep.
+     */
+    TopKHeap(int k) {
+        this.ids = new long[k];
+        this.scores = new int[k];
+    }
+
+    /**
+     * Offers an entry, keeping it if it ranks among the K best seen so far.
+     * @param id - The ID.
+     * @param score - The score of the ID.
+     */
+    void offer(long id, int score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (size > 0 && ranksAbove(id, score, 0)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empties the heap into a list of Co-Members, best first.
+     * @return The kept entries, highest score first.
+     */
+    List<CoMember> drain() {
+        CoMember[] sorted = new CoMember[size];
+        while (size > 0) {
+            // The root is the lowest ranked entry left, so the array is filled from the back.
+            sorted[size - 1] = new CoMember(ids[0], scores[0]);
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return Arrays.asList(sorted);
+    }
+
+    private boolean ranksAbove(long id, int score, int slot) {
+        return score > scores[slot] || (score == scores[slot] && id < ids[slot]);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!ranksAbove(ids[parent], scores[parent], slot)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && ranksAbove(ids[child], scores[child], child + 1)) {
+                child++;
+            }
+            if (!ranksAbove(ids[slot], scores[slot], child)) {
+                return;
+            }
+            swap(slot, child);
+            slot = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        int score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for deferring in-memory side effects until the surrounding transaction has finished.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {}
+
+    /**
+     * Runs an action once the current transaction has completed, whether it committed or rolled back, or
+     * immediately if there is no transaction.
+     * @param action - The action to run.
+     */
+    static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or immediately if there is no transaction.
+     * The action is dropped if the transaction rolls back.
+     * @param action - The action to run.
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Hand written serializers for the read models on the hottest endpoints, registered with the application's
+ * ObjectMapper. Field names and State names are encoded to UTF-8 once and copied into the generator's buffer,
+ * getters are called directly rather than through bean introspection, and dates are formatted without cloning a
+ * DateFormat. The output is the same as the default bean serializers under the application's settings.
+ */
+@JsonComponent
+public class ViewSerializers {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+
+    private static final SerializableString MIDDLE_NAME = new SerializedString("middleName");
+
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+
+    private static final SerializableString DATE_OF_BIRTH = new SerializedString("dateOfBirth");
+
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final SerializableString STREET = new SerializedString("street");
+
+    private static final SerializableString CITY = new SerializedString("city");
+
+    private static final SerializableString STATE = new SerializedString("state");
+
+    private static final SerializableString ZIPCODE = new SerializedString("zipcode");
+
+    private static final SerializableString PERSON_ID = new SerializedString("personId");
+
+    /**
+     * The name of each State, by ordinal.
+     */
+    private static final SerializableString[] STATE_NAMES = new SerializableString[State.values().length];
+
+    static {
+        for (State state : State.values()) {
+            STATE_NAMES[state.ordinal()] = new SerializedString(state.name());
+        }
+    }
+
+    /**
+     * Jackson's default time zone.
+     */
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    /**
+     * The format of Jackson's default date format, in UTC.
+     */
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx")
+            .withZone(ZoneOffset.UTC);
+
+    /**
+     * Writes PersonViews.
+     */
+    public static class PersonViewSerializer extends StdSerializer<PersonView> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor.
+         */
+        public PersonViewSerializer() {
+            super(PersonView.class);
+        }
+
+        @Override
+        public void serialize(PersonView person, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(person);
+            writeNumber(gen, ID, person.getId());
+            writeString(gen, FIRST_NAME, person.getFirstName());
+            writeString(gen, MIDDLE_NAME, person.getMiddleName());
+            writeString(gen, LAST_NAME, person.getLastName());
+            gen.writeFieldName(DATE_OF_BIRTH);
+            writeDate(gen, provider, person.getDateOfBirth());
+            writeNumber(gen, VERSION, person.getVersion());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes AddressViews.
+     */
+    public static class AddressViewSerializer extends StdSerializer<AddressView> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructor.
+         */
+        public AddressViewSerializer() {
+            super(AddressView.class);
+        }
+
+        @Override
+        public void serialize(AddressView address, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(address);
+            writeNumber(gen, ID, address.getId());
+            writeString(gen, STREET, address.getStreet());
+            writeString(gen, CITY, address.getCity());
+            gen.writeFieldName(STATE);
+            if (address.getState() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(STATE_NAMES[address.getState().ordinal()]);
+            }
+            writeString(gen, ZIPCODE, address.getZipcode());
+            writeNumber(gen, PERSON_ID, address.getPersonId());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    /**
+     * Writes a date as the mapper would: as a timestamp, in the default ISO format, or through the configured format
+     * when a custom format or time zone is set.
+     * @param gen - The output.
+     * @param provider - The provider holding the mapper's settings.
+     * @param date - The date to write.
+     * @throws IOException - If the output can not be written.
+     */
+    private static void writeDate(JsonGenerator gen, SerializerProvider provider, Date date) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        SerializationConfig config = provider.getConfig();
+        if (config.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            gen.writeNumber(date.getTime());
+        } else if (config.getDateFormat() instanceof StdDateFormat && UTC.hasSameRules(config.getTimeZone())
+                && ((StdDateFormat) config.getDateFormat()).isColonIncludedInTimeZone()) {
+            gen.writeString(ISO_DATE.format(Instant.ofEpochMilli(date.getTime())));
+        } else {
+            provider.defaultSerializeDateValue(date, gen);
+        }
+    }
+}
@@ -3,16 +3,33 @@ package com.sfmckenrick.assessment.personManagement.exception;
 /**
  * Unchecked exception that indicates that an Entity does not exist in the data store.
  * This exception will consumed by a ExceptionHandler within the PersonManagementController
+ * <p>
+ * Capturing a stack trace is the bulk of the cost of constructing this exception, and it is never used when
+ * the exception is turned into a 404, so capture can be switched off with setStackTraceEnabled.
  * @author Scott McKenrick <sbm5967@arl.psu.edu>
  */
 public abstract class EntityNotFoundException extends RuntimeException {
 
+    /**
+     * True if new instances capture a stack trace.
+     */
+    private static volatile boolean stackTraceEnabled = true;
+
     /**
      * Constructor.
      * @param type - The type of entity that is not able to be found.
      * @param identifier - The identifier of the entity.
      */
     public EntityNotFoundException(String type, Object identifier) {
-        super("Unable to Locate Entity. Type: " + type + "; Identifier: " + identifier);
+        super("Unable to Locate Entity. Type: " + type + "; Identifier: " + identifier, null, true,
+                stackTraceEnabled);
+    }
+
+    /**
+     * Sets whether new instances capture a stack trace.
+     * @param enabled - True to capture stack traces, false to create stackless exceptions.
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
     }
 }
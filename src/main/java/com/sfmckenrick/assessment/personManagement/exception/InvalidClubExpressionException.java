@@ -0,0 +1,22 @@
+package com.sfmckenrick.assessment.personManagement.exception;
+
+/**
+ * Unchecked exception that indicates that a Club membership expression supplied by a client could not be parsed.
+ * This exception will consumed by a ExceptionHandler within the PersonManagementController
+ */
+public class InvalidClubExpressionException extends RuntimeException {
+
+    /**
+     * The Serialization UID.
+     */
+    private static final long serialVersionUID = -2851470734096533187L;
+
+    /**
+     * Constructor.
+     * @param expression - The expression that could not be parsed.
+     * @param reason - Why the expression could not be parsed.
+     */
+    public InvalidClubExpressionException(String expression, String reason) {
+        super("Invalid club expression '" + expression + "': " + reason);
+    }
+}
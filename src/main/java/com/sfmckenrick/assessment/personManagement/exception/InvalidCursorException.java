@@ -0,0 +1,21 @@
+package com.sfmckenrick.assessment.personManagement.exception;
+
+/**
+ * Unchecked exception that indicates that a pagination cursor supplied by a client could not be decoded.
+ * This exception will consumed by a ExceptionHandler within the PersonManagementController
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * The Serialization UID.
+     */
+    private static final long serialVersionUID = 4127509286411873301L;
+
+    /**
+     * Constructor.
+     * @param cursor - The cursor that could not be decoded.
+     */
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
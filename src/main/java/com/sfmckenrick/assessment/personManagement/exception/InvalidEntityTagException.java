@@ -0,0 +1,21 @@
+package com.sfmckenrick.assessment.personManagement.exception;
+
+/**
+ * Unchecked exception that indicates that an entity tag supplied by a client does not name a version.
+ * This exception will consumed by a ExceptionHandler within the PersonManagementController
+ */
+public class InvalidEntityTagException extends RuntimeException {
+
+    /**
+     * The Serialization UID.
+     */
+    private static final long serialVersionUID = 2846153097724638115L;
+
+    /**
+     * Constructor.
+     * @param entityTag - The entity tag that could not be parsed.
+     */
+    public InvalidEntityTagException(String entityTag) {
+        super("Invalid entity tag: " + entityTag);
+    }
+}
@@ -0,0 +1,22 @@
+package com.sfmckenrick.assessment.personManagement.exception;
+
+/**
+ * Unchecked exception that indicates that a field list supplied by a client names a field that can not be selected.
+ * This exception will consumed by a ExceptionHandler within the PersonManagementController
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+    /**
+     * The Serialization UID.
+     */
+    private static final long serialVersionUID = 7361820947215563092L;
+
+    /**
+     * Constructor.
+     * @param fields - The field list that could not be used.
+     * @param reason - Why the field list could not be used.
+     */
+    public InvalidFieldsException(String fields, String reason) {
+        super("Invalid fields '" + fields + "': " + reason);
+    }
+}
@@ -0,0 +1,22 @@
+package com.sfmckenrick.assessment.personManagement.exception;
+
+/**
+ * Unchecked exception that indicates that a client asked for more entities by ID than a single request allows.
+ * This exception will consumed by a ExceptionHandler within the PersonManagementController
+ */
+public class TooManyIdsException extends RuntimeException {
+
+    /**
+     * The Serialization UID.
+     */
+    private static final long serialVersionUID = -6203954163317206941L;
+
+    /**
+     * Constructor.
+     * @param count - The number of IDs requested.
+     * @param max - The maximum number of IDs allowed.
+     */
+    public TooManyIdsException(int count, int max) {
+        super("Too many IDs: " + count + " requested, at most " + max + " allowed");
+    }
+}
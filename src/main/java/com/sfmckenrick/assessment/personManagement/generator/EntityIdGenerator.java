@@ -0,0 +1,93 @@
+package com.sfmckenrick.assessment.personManagement.generator;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.ExportableProducer;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.Configurable;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Identifier generator for Person and Address that selects its strategy from the Hibernate settings:
+ * <ul>
+ *     <li>id.strategy - "sequence" (default) to reserve blocks from a database sequence, see PooledSequenceGenerator,
+ *     or "snowflake" to issue time ordered identifiers in-process, see SnowflakeIdGenerator.</li>
+ *     <li>id.snowflake.node - The node ID used by the snowflake strategy. Must be unique per running instance.</li>
+ * </ul>
+ */
+public class EntityIdGenerator implements IdentifierGenerator, Configurable, ExportableProducer {
+
+    /**
+     * Setting for the strategy to use.
+     */
+    public static final String STRATEGY_SETTING = "id.strategy";
+
+    /**
+     * Setting for the node ID of the snowflake strategy.
+     */
+    public static final String NODE_SETTING = "id.snowflake.node";
+
+    /**
+     * Strategy value that selects the pooled sequence.
+     */
+    public static final String SEQUENCE_STRATEGY = "sequence";
+
+    /**
+     * Strategy value that selects the snowflake generator.
+     */
+    public static final String SNOWFLAKE_STRATEGY = "snowflake";
+
+    /**
+     * The sequence generator, or null if the snowflake strategy is selected.
+     */
+    private PooledSequenceGenerator sequence;
+
+    /**
+     * The snowflake generator, or null if the sequence strategy is selected.
+     */
+    private SnowflakeIdGenerator snowflake;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+        String strategy = configuration.getSetting(STRATEGY_SETTING, StandardConverters.STRING, SEQUENCE_STRATEGY);
+
+        if (SNOWFLAKE_STRATEGY.equalsIgnoreCase(strategy)) {
+            int node = ConfigurationHelper.getInt(NODE_SETTING, configuration.getSettings(), 0);
+            try {
+                snowflake = SnowflakeIdGenerator.forNode(node);
+            } catch (IllegalArgumentException e) {
+                throw new MappingException(e.getMessage(), e);
+            }
+        } else if (SEQUENCE_STRATEGY.equalsIgnoreCase(strategy)) {
+            sequence = new PooledSequenceGenerator();
+            sequence.configure(type, params, serviceRegistry);
+        } else {
+            throw new MappingException("Unknown identifier strategy: " + strategy);
+        }
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        if (sequence != null) {
+            sequence.registerExportables(database);
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (snowflake != null) {
+            return snowflake.nextId();
+        }
+        return sequence.generate(session, object);
+    }
+}
@@ -0,0 +1,57 @@
+package com.sfmckenrick.assessment.personManagement.generator;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence backed identifier generator that reserves a block of identifiers per database call.
+ * The block size and optimizer are read from the Hibernate settings so they can be tuned without
+ * changing the entity mappings:
+ * <ul>
+ *     <li>id.sequence.increment_size - The number of identifiers reserved per sequence call.</li>
+ *     <li>id.sequence.optimizer - The Hibernate optimizer that hands out the reserved block (pooled-lo, pooled, hilo, none).</li>
+ * </ul>
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Setting for the number of identifiers reserved per sequence call.
+     */
+    public static final String INCREMENT_SIZE_SETTING = "id.sequence.increment_size";
+
+    /**
+     * Setting for the optimizer used to hand out the reserved identifiers.
+     */
+    public static final String OPTIMIZER_SETTING = "id.sequence.optimizer";
+
+    /**
+     * The block size used when none is configured.
+     */
+    private static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    /**
+     * The optimizer used when none is configured.
+     */
+    private static final String DEFAULT_OPTIMIZER = "pooled-lo";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+
+        int incrementSize = ConfigurationHelper.getInt(INCREMENT_SIZE_SETTING, configuration.getSettings(),
+                DEFAULT_INCREMENT_SIZE);
+        String optimizer = configuration.getSetting(OPTIMIZER_SETTING, StandardConverters.STRING,
+                DEFAULT_OPTIMIZER);
+
+        params.setProperty(INCREMENT_PARAM, Integer.toString(incrementSize));
+        params.setProperty(OPT_PARAM, optimizer);
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sfmckenrick.assessment.personManagement.generator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Coordination-free generator of time ordered 64 bit identifiers.
+ * Each identifier is laid out as 41 bits of milliseconds since EPOCH, 10 bits of node ID and a 12 bit counter,
+ * so identifiers from different nodes never collide and identifiers from one node are strictly increasing.
+ * <p>
+ * The last issued time and counter are packed into a single AtomicLong that is advanced with compare-and-set,
+ * so no locks are taken. When the counter for a millisecond is exhausted, or the clock moves backwards, the
+ * generator keeps counting into the following millisecond rather than waiting on the clock.
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * The custom epoch (2021-01-01T00:00:00Z) that timestamps are measured from.
+     */
+    public static final long EPOCH = 1609459200000L;
+
+    /**
+     * The number of bits holding the node ID.
+     */
+    public static final int NODE_BITS = 10;
+
+    /**
+     * The number of bits holding the per-millisecond counter.
+     */
+    public static final int COUNTER_BITS = 12;
+
+    /**
+     * The largest valid node ID.
+     */
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    /**
+     * Mask that extracts the counter from the packed state.
+     */
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * The generators created for each node, shared so that every entity on a node draws from the same counter.
+     */
+    private static final ConcurrentMap<Integer, SnowflakeIdGenerator> NODES = new ConcurrentHashMap<>();
+
+    /**
+     * The node ID, already shifted into position.
+     */
+    private final long node;
+
+    /**
+     * The source of the current time in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The last issued timestamp and counter, packed as (timestamp << COUNTER_BITS) | counter.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Constructor.
+     * @param node - The ID of this node. Must be unique among all running instances.
+     * @param clock - The source of the current time in milliseconds.
+     */
+    public SnowflakeIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE + ". Node: " + node);
+        }
+        this.node = (long) node << COUNTER_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the generator shared by all entities on a node.
+     * @param node - The ID of the node.
+     * @return The generator for the node.
+     */
+    public static SnowflakeIdGenerator forNode(int node) {
+        return NODES.computeIfAbsent(node, n -> new SnowflakeIdGenerator(n, System::currentTimeMillis));
+    }
+
+    /**
+     * Issues the next identifier.
+     * @return A unique, positive identifier greater than any previously issued by this generator.
+     */
+    public long nextId() {
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            long now = (clock.getAsLong() - EPOCH) << COUNTER_BITS;
+            // Incrementing a full counter carries into the timestamp bits, borrowing the next millisecond.
+            next = Math.max(now, previous + 1);
+        } while (!state.compareAndSet(previous, next));
+
+        return ((next & ~COUNTER_MASK) << NODE_BITS) | node | (next & COUNTER_MASK);
+    }
+}
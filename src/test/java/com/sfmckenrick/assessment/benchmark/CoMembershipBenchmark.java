@@ -0,0 +1,80 @@
+package com.sfmckenrick.assessment.benchmark;
+
+import com.sfmckenrick.assessment.Application;
+import com.sfmckenrick.assessment.personManagement.ClubMembershipIndex;
+import com.sfmckenrick.assessment.personManagement.CoMember;
+import com.sfmckenrick.assessment.personManagement.CoMembershipEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures co-membership ranking over 1M Persons and 10k Clubs. Each Person belongs to a fixed number of Clubs
+ * drawn from a skewed distribution, so a few Clubs are very large, as they are in practice.
+ * The membership index is filled directly rather than from the database, which would take far longer to load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CoMembershipBenchmark {
+
+    private static final int PERSONS = 1_000_000;
+
+    private static final int CLUBS = 10_000;
+
+    private static final int CLUBS_PER_PERSON = 8;
+
+    /**
+     * The number of Persons returned per query.
+     */
+    @Param({"10", "100"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+
+    private CoMembershipEngine engine;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark")
+                .run();
+        ClubMembershipIndex index = context.getBean(ClubMembershipIndex.class);
+        engine = context.getBean(CoMembershipEngine.class);
+
+        // Outside of a transaction the index applies each change immediately.
+        for (int club = 0; club < CLUBS; club++) {
+            index.clubSaved(club);
+        }
+        SplittableRandom data = new SplittableRandom(42);
+        for (long person = 1; person <= PERSONS; person++) {
+            index.personSaved(person);
+            for (int i = 0; i < CLUBS_PER_PERSON; i++) {
+                double r = data.nextDouble();
+                index.memberAdded(person, (int) (CLUBS * r * r));
+            }
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CoMember> topCoMembers() {
+        return engine.topCoMembers(1 + random.nextInt(PERSONS), limit);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sfmckenrick.assessment.benchmark;
+
+import com.sfmckenrick.assessment.Application;
+import com.sfmckenrick.assessment.personManagement.Person;
+import com.sfmckenrick.assessment.personManagement.PersonManagementService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Person insert throughput between a sequence call per entity (the previous strategy) and
+ * identifiers reserved in blocks by the pooled optimizers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    /**
+     * The number of Persons inserted per benchmark operation.
+     */
+    private static final int PERSONS_PER_OPERATION = 1000;
+
+    /**
+     * The optimizer and block size to benchmark. "none:1" matches the previous per-entity sequence call.
+     */
+    @Param({"none:1", "pooled:50", "pooled-lo:50", "pooled-lo:500"})
+    public String strategy;
+
+    private ConfigurableApplicationContext context;
+
+    private PersonManagementService service;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] parts = strategy.split(":");
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.jpa.properties.id.sequence.optimizer=" + parts[0],
+                        "spring.jpa.properties.id.sequence.increment_size=" + parts[1])
+                .run();
+        service = context.getBean(PersonManagementService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PERSONS_PER_OPERATION)
+    public long insertPersons() {
+        List<Person> persons = new ArrayList<>(PERSONS_PER_OPERATION);
+        Date dateOfBirth = new Date();
+        for (int i = 0; i < PERSONS_PER_OPERATION; i++) {
+            persons.add(new Person("John", null, "Doe", dateOfBirth));
+        }
+        return service.savePersons(persons.iterator()).getSaved();
+    }
+}
@@ -0,0 +1,119 @@
+package com.sfmckenrick.assessment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sfmckenrick.assessment.Application;
+import com.sfmckenrick.assessment.personManagement.Address;
+import com.sfmckenrick.assessment.personManagement.Club;
+import com.sfmckenrick.assessment.personManagement.Person;
+import com.sfmckenrick.assessment.personManagement.PersonManagementService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how many profile requests per second a pool of 4 connections serves to 32 concurrent clients, with and
+ * without an EntityManager held open for the whole request as open-session-in-view does. Each request reads a
+ * profile through the service and then spends a fixed time rendering it, standing in for serialization and a slow
+ * client. With the EntityManager held open, the connection is only returned after rendering, so the pool and not
+ * the database bounds throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+public class OpenInViewBenchmark {
+
+    private static final int PERSONS = 1_000;
+
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * The time spent rendering each response.
+     */
+    private static final long RENDER_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    /**
+     * Whether an EntityManager is bound for the whole request, as the open-session-in-view interceptor does.
+     */
+    @Param({"true", "false"})
+    public boolean openInView;
+
+    private ConfigurableApplicationContext context;
+
+    private PersonManagementService service;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private ObjectMapper objectMapper;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE)
+                .run();
+        service = context.getBean(PersonManagementService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        service.saveClub(new Club("Benchmark Club", null));
+        ids = new long[PERSONS];
+        for (int i = 0; i < PERSONS; i++) {
+            Person person = service.savePerson(new Person("John", null, "Doe", new Date()));
+            service.saveAddress(new Address("123 Street", "Cityville",
+                    com.sfmckenrick.assessment.personManagement.State.ALABAMA, "12345", person));
+            service.addClubMembership(person.getId(), "Benchmark Club");
+            ids[i] = person.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public byte[] getPersonProfile(Client client) throws Exception {
+        long id = ids[client.random.nextInt(PERSONS)];
+        if (!openInView) {
+            return render(service.getPersonProfile(id));
+        }
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return render(service.getPersonProfile(id));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    private byte[] render(Object response) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        LockSupport.parkNanos(RENDER_NANOS);
+        return body;
+    }
+}
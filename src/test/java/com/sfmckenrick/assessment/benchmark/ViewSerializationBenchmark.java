@@ -0,0 +1,62 @@
+package com.sfmckenrick.assessment.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.sfmckenrick.assessment.personManagement.AddressView;
+import com.sfmckenrick.assessment.personManagement.PersonView;
+import com.sfmckenrick.assessment.personManagement.ViewSerializers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand written view serializers with Jackson's default bean serializers, both writing to a byte
+ * array with the application's date settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ViewSerializationBenchmark {
+
+    /**
+     * "default" for the bean serializers, "precomputed" for the hand written ones.
+     */
+    @Param({"default", "precomputed"})
+    public String serializers;
+
+    private ObjectWriter writer;
+
+    private PersonView person;
+
+    private AddressView address;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializers.equals("precomputed")) {
+            mapper.registerModule(new SimpleModule()
+                    .addSerializer(new ViewSerializers.PersonViewSerializer())
+                    .addSerializer(new ViewSerializers.AddressViewSerializer()));
+        }
+        writer = mapper.writer();
+        person = new PersonView(1234567L, "John", "Quincy", "Doe", new Date(315532800000L));
+        address = new AddressView(7654321L, "123 Street", "Cityville",
+                com.sfmckenrick.assessment.personManagement.State.PENNSYLVANIA, "16801", 1234567L);
+    }
+
+    @Benchmark
+    public byte[] writePerson() throws Exception {
+        return writer.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public byte[] writeAddress() throws Exception {
+        return writer.writeValueAsBytes(address);
+    }
+}
@@ -0,0 +1,113 @@
+package com.sfmckenrick.assessment.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sfmckenrick.assessment.personManagement.Person;
+import com.sfmckenrick.assessment.personManagement.PersonLookupResult;
+import com.sfmckenrick.assessment.personManagement.PersonView;
+import com.sfmckenrick.assessment.personManagement.ViewSerializers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON, CBOR and Smile on the two bulk payloads: encoding a multi-get response of 1,000 Persons and
+ * decoding a bulk upload of 1,000 Persons one record at a time, as post-persons does. The mappers are configured
+ * as the application's are. The encoded size of each payload is reported as the secondary "bytes" result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PERSONS = 1_000;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+
+    private ObjectReader personReader;
+
+    private PersonLookupResult lookup;
+
+    private byte[] upload;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ObjectMapper mapper = new ObjectMapper(factory())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .registerModule(new SimpleModule()
+                        .addSerializer(new ViewSerializers.PersonViewSerializer())
+                        .addSerializer(new ViewSerializers.AddressViewSerializer()));
+        writer = mapper.writer();
+        personReader = mapper.readerFor(Person.class);
+
+        List<PersonView> views = new ArrayList<>(PERSONS);
+        List<Person> persons = new ArrayList<>(PERSONS);
+        for (int i = 0; i < PERSONS; i++) {
+            Date dateOfBirth = new Date(315532800000L + i * 86400000L);
+            views.add(new PersonView(1_000_000L + i, "John", "Quincy", "Doe", dateOfBirth));
+            persons.add(new Person("John", "Quincy", "Doe", dateOfBirth));
+        }
+        lookup = new PersonLookupResult(views, new long[] {42L});
+        upload = writer.writeValueAsBytes(persons);
+    }
+
+    private JsonFactory factory() {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    /**
+     * Reports the encoded size of the payload each benchmark handles.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        /**
+         * The size of the payload in bytes. Assigned rather than accumulated, so it reads the same in every iteration.
+         */
+        public long bytes;
+    }
+
+    @Benchmark
+    public byte[] encodeMultiGet(Payload payload) throws Exception {
+        byte[] encoded = writer.writeValueAsBytes(lookup);
+        payload.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public int decodeBulkUpload(Payload payload) throws Exception {
+        payload.bytes = upload.length;
+        int count = 0;
+        try (MappingIterator<Person> persons = personReader.readValues(upload)) {
+            while (persons.hasNext()) {
+                persons.next();
+                count++;
+            }
+        }
+        return count;
+    }
+}
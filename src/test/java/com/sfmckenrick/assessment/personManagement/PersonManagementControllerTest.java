@@ -1,6 +1,10 @@
 package com.sfmckenrick.assessment.personManagement;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.sfmckenrick.assessment.authentication.JwtRequest;
 import com.sfmckenrick.assessment.authentication.JwtResponse;
 import com.sfmckenrick.assessment.personManagement.exception.PersonNotFoundException;
@@ -28,6 +32,11 @@ class PersonManagementControllerTest {
     private final String GET_MAPPING = "/v1/get-person/{personId}";
     private final String DELETE_MAPPING = "/v1/delete-person/{personId}";
     private final String POST_MAPPING = "/v1/post-person/";
+    private final String PATCH_MAPPING = "/v1/patch-person/{personId}";
+    private final String BULK_POST_MAPPING = "/v1/post-persons/";
+    private final String MULTI_GET_MAPPING = "/v1/get-persons/";
+    private final String EXPORT_MAPPING = "/v1/export-persons/";
+    private final String PAGE_MAPPING = "/v1/persons/";
     private final String TOKEN_MAPPING = "/v1/auth/token/";
 
     // Authentication tokens.
@@ -69,6 +78,53 @@ class PersonManagementControllerTest {
         Assertions.assertTrue(result.contains("Unable"));
     }
 
+    @Test
+    public void testGetPersonFieldsBasicAdmin() throws Exception {
+        Person expected = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
+        service.savePerson(expected);
+
+        String result = mockMvc.perform(MockMvcRequestBuilders
+                .get(GET_MAPPING, expected.getId()).param("fields", "lastName,id")
+                .header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertEquals("{\"lastName\":\"Doe\",\"id\":" + expected.getId() + "}", result);
+    }
+
+    @Test
+    public void testGetPersonsFieldsBasicAdmin() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            service.savePerson(new Person("John" + i, null, "Doe", new Date(System.currentTimeMillis())));
+        }
+
+        JsonNode first = new ObjectMapper().readTree(mockMvc.perform(MockMvcRequestBuilders
+                .get(PAGE_MAPPING).param("fields", "firstName").param("size", "2")
+                .header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString());
+        JsonNode last = new ObjectMapper().readTree(mockMvc.perform(MockMvcRequestBuilders
+                .get(PAGE_MAPPING).param("fields", "firstName").param("size", "2")
+                .param("cursor", first.get("next").asText())
+                .header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString());
+
+        Assertions.assertEquals(2, first.get("persons").size());
+        Assertions.assertEquals("John0", first.get("persons").get(0).get("firstName").asText());
+        Assertions.assertEquals(1, last.get("persons").size());
+        Assertions.assertEquals("John2", last.get("persons").get(0).get("firstName").asText());
+        Assertions.assertTrue(last.path("next").isNull() || last.path("next").isMissingNode());
+    }
+
+    @Test
+    public void testGetPersonFieldsUnknownBasicAdmin() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(GET_MAPPING, 1).param("fields", "id,password")
+                .header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     public void testDeletePersonByIdExistsBasicAdmin() throws Exception {
         Person expected = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
@@ -92,6 +148,116 @@ class PersonManagementControllerTest {
         Assertions.assertTrue(result.contains("Unable"));
     }
 
+    @Test
+    public void testGetPersonNotModifiedBasicAdmin() throws Exception {
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders
+                .get(GET_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(eTag);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(GET_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        person.setMiddleName("Quincy");
+        service.savePerson(person);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(GET_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.middleName").value("Quincy"));
+    }
+
+    @Test
+    public void testUpdatePersonReadBackBasicAdmin() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+
+        for (String middleName : new String[] {"Quincy", "Adams"}) {
+            ObjectNode body = (ObjectNode) mapper.readTree(mockMvc.perform(MockMvcRequestBuilders
+                    .get(GET_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            body.put("middleName", middleName);
+
+            mockMvc.perform(MockMvcRequestBuilders
+                    .post(POST_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(mapper.writeValueAsString(body)))
+                    .andExpect(MockMvcResultMatchers.status().isCreated());
+            Assertions.assertEquals(middleName, service.getPersonById(person.getId()).getMiddleName());
+        }
+    }
+
+    @Test
+    public void testInsertPersonStaleVersionBasicAdmin() throws Exception {
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        person.setMiddleName("Quincy");
+        service.savePerson(person);
+
+        person.setMiddleName("Adams");
+        mockMvc.perform(MockMvcRequestBuilders
+                .post(POST_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(person)))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @Test
+    public void testPatchPersonBasicAdmin() throws Exception {
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        String eTag = "W/\"" + person.getVersion() + "\"";
+
+        String newETag = mockMvc.perform(MockMvcRequestBuilders
+                .patch(PATCH_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(PersonManagementConfiguration.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"middleName\": \"Quincy\"}"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Assertions.assertNotEquals(eTag, newETag);
+        Assertions.assertEquals("Quincy", service.getPersonById(person.getId()).getMiddleName());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(PATCH_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(PersonManagementConfiguration.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"middleName\": null}"))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(PATCH_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .header(HttpHeaders.IF_MATCH, newETag)
+                .contentType(PersonManagementConfiguration.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"id\": 1}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testPatchPersonRemoveMiddleNameBasicAdmin() throws Exception {
+        Person person = service.savePerson(new Person("John", "Quincy", "Doe", new Date(System.currentTimeMillis())));
+        String eTag = "W/\"" + person.getVersion() + "\"";
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .patch(PATCH_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(PersonManagementConfiguration.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                .content("{\"middleName\": null}"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Person result = service.getPersonById(person.getId());
+        Assertions.assertNull(result.getMiddleName());
+        Assertions.assertEquals("John", result.getFirstName());
+        Assertions.assertEquals("Doe", result.getLastName());
+    }
+
     @Test
     public void testInsertPersonBasicAdmin() throws Exception {
         Person person = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
@@ -129,6 +295,115 @@ class PersonManagementControllerTest {
         Assertions.assertTrue(result.contains("Data integrity"));
     }
 
+    @Test
+    public void testInsertPersonsNdjsonBasicAdmin() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String ndjson = mapper.writeValueAsString(new Person("John", null, "Doe", new Date(System.currentTimeMillis())))
+                + "\n" + mapper.writeValueAsString(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())))
+                + "\n";
+
+        String result = mockMvc.perform(MockMvcRequestBuilders
+                        .post(BULK_POST_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                        .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                        .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertEquals(2, mapper.readTree(result).get("saved").asLong());
+        Assertions.assertEquals(0, mapper.readTree(result).get("rejected").asLong());
+    }
+
+    @Test
+    public void testInsertPersonsArrayMalformedBasicAdmin() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Person[] persons = {
+                new Person("John", null, "Doe", new Date(System.currentTimeMillis())),
+                new Person(null, null, "Doe", new Date(System.currentTimeMillis()))
+        };
+
+        String result = mockMvc.perform(MockMvcRequestBuilders
+                        .post(BULK_POST_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(persons)))
+                        .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                        .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertEquals(0, mapper.readTree(result).get("saved").asLong());
+        Assertions.assertEquals(2, mapper.readTree(result).get("rejected").asLong());
+        Assertions.assertTrue(result.contains("Data integrity"));
+    }
+
+    @Test
+    public void testInsertPersonsSmileBasicAdmin() throws Exception {
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        Person[] persons = {
+                new Person("John", null, "Doe", new Date(System.currentTimeMillis())),
+                new Person("Jane", null, "Doe", new Date(System.currentTimeMillis()))
+        };
+
+        String result = mockMvc.perform(MockMvcRequestBuilders
+                        .post(BULK_POST_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                        .contentType(PersonManagementConfiguration.APPLICATION_SMILE)
+                        .content(smile.writeValueAsBytes(persons)))
+                        .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                        .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertEquals(2, new ObjectMapper().readTree(result).get("saved").asLong());
+    }
+
+    @Test
+    public void testGetPersonsCborBasicAdmin() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+
+        byte[] result = mockMvc.perform(MockMvcRequestBuilders
+                        .post(MULTI_GET_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(new long[] {person.getId(), person.getId() + 1})))
+                        .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                        .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                        .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode lookup = cbor.readTree(result);
+        Assertions.assertEquals("John", lookup.get("persons").get(0).get("firstName").asText());
+        Assertions.assertEquals(person.getId() + 1, lookup.get("missingIds").get(0).asLong());
+    }
+
+    @Test
+    public void testGetPersonDefaultsToJsonBasicAdmin() throws Exception {
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get(GET_MAPPING, person.getId()).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN)
+                .accept(MediaType.ALL))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testExportPersonsBasicAdmin() throws Exception {
+        Person person = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.saveAddress(new Address("123 Street", "Cityville", State.ALABAMA, "12345", person));
+        service.saveClub(new Club("Test Club", null));
+        service.addClubMembership(person.getId(), "Test Club");
+
+        String result = mockMvc.perform(MockMvcRequestBuilders
+                        .get(EXPORT_MAPPING).header(HttpHeaders.AUTHORIZATION, BASIC_ADMIN))
+                        .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                        .andReturn().getResponse().getContentAsString();
+
+        ObjectMapper mapper = new ObjectMapper();
+        String[] lines = result.split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertEquals("person", mapper.readTree(lines[0]).get("type").asText());
+        Assertions.assertEquals(person.getId(), mapper.readTree(lines[0]).get("id").asLong());
+        Assertions.assertEquals("address", mapper.readTree(lines[1]).get("type").asText());
+        Assertions.assertEquals(person.getId(), mapper.readTree(lines[1]).get("personId").asLong());
+        Assertions.assertEquals("membership", mapper.readTree(lines[2]).get("type").asText());
+        Assertions.assertEquals("Test Club", mapper.readTree(lines[2]).get("clubName").asText());
+    }
+
     @Test
     public void testIncorrectRoleBasicPublic() throws Exception {
         Person expected = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
@@ -0,0 +1,224 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.sfmckenrick.assessment.personManagement.exception.ClubNotFoundException;
+import com.sfmckenrick.assessment.personManagement.exception.PersonNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Date;
+
+/**
+ * Test Suite that guards the number of statements the PersonManagementService sends to the database.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class PersonManagementQueryCountTest {
+
+    @Autowired
+    private PersonManagementService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void clean() {
+        service.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testDeletePersonSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+
+        statistics.clear();
+        service.deletePersonById(p.getId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteMissingPersonSingleStatement() {
+        statistics.clear();
+        Assertions.assertThrows(PersonNotFoundException.class, () -> service.deletePersonById(-1));
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetPersonsByIdsSingleStatement() {
+        long[] ids = new long[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis()))).getId();
+        }
+
+        statistics.clear();
+        Assertions.assertEquals(ids.length, service.getPersonsByIds(ids).getPersons().size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        Assertions.assertEquals(ids.length, service.getPersonsByIds(ids).getPersons().size());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetPersonVersionSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+
+        statistics.clear();
+        Assertions.assertEquals(p.getVersion(), service.getPersonVersion(p.getId()));
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testPatchPersonSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        PersonPatch patch = new PersonPatch();
+        patch.setMiddleName("Quincy");
+
+        statistics.clear();
+        service.patchPerson(p.getId(), p.getVersion(), patch);
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testDeleteAddressSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        Address a = service.saveAddress(new Address("123 Street", "Cityville", State.ALABAMA, "12345", p));
+
+        statistics.clear();
+        service.deleteAddressById(a.getId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteClubSingleStatement() {
+        service.saveClub(new Club("Test Club", null));
+
+        statistics.clear();
+        service.deleteClubByName("Test Club");
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteAllAddressForPersonSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.saveAddress(new Address("123 Street", "Cityville", State.ALABAMA, "12345", p));
+        service.saveAddress(new Address("456 Blvd", "Townsville", State.OKLAHOMA, "98765", p));
+
+        statistics.clear();
+        service.deleteAllAddressForPersonById(p.getId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteClubMembershipsSingleStatement() {
+        Club club = service.saveClub(new Club("Test Club", null));
+        for (int i = 0; i < 5; i++) {
+            Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+            service.addClubMembership(p.getId(), club.getName());
+        }
+
+        statistics.clear();
+        service.deleteClubMembershipByClub(club.getName());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteClubMembershipSingleStatement() {
+        Club club = service.saveClub(new Club("Test Club", null));
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p.getId(), club.getName());
+
+        statistics.clear();
+        service.deleteClubMembership(p.getId(), club.getName());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetAddressByPersonSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.saveAddress(new Address("123 Street", "Cityville", State.ALABAMA, "12345", p));
+        service.saveAddress(new Address("456 Blvd", "Townsville", State.OKLAHOMA, "98765", p));
+
+        statistics.clear();
+        Assertions.assertEquals(2, service.getAddressByPersonId(p.getId()).size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetPersonProfileBoundedStatements() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.saveAddress(new Address("123 Street", "Cityville", State.ALABAMA, "12345", p));
+        service.saveAddress(new Address("456 Blvd", "Townsville", State.OKLAHOMA, "98765", p));
+        for (int i = 0; i < 3; i++) {
+            service.saveClub(new Club("Test Club " + i, null));
+            service.addClubMembership(p.getId(), "Test Club " + i);
+        }
+        service.getPersonById(p.getId());
+
+        statistics.clear();
+        PersonProfile profile = service.getPersonProfile(p.getId());
+        Assertions.assertEquals(p.getId(), profile.getPerson().getId());
+        Assertions.assertEquals(2, profile.getAddresses().size());
+        Assertions.assertEquals(3, profile.getClubs().size());
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertThrows(PersonNotFoundException.class, () -> service.getPersonProfile(-1));
+    }
+
+    @Test
+    public void testIsPersonClubMemberNoStatement() {
+        Club club = service.saveClub(new Club("Test Club", null));
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p.getId(), club.getName());
+
+        statistics.clear();
+        Assertions.assertTrue(service.isPersonClubMember(p.getId(), club.getName()));
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.isPersonClubMember(p.getId(), "Missing"));
+        Assertions.assertThrows(PersonNotFoundException.class, () -> service.isPersonClubMember(-1, club.getName()));
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetPersonMembersForClubSingleStatement() {
+        Club club = service.saveClub(new Club("Test Club", null));
+        for (int size = 1; size <= 20; size *= 2) {
+            while (service.getPersonMembersForClub(club.getName()).size() < size) {
+                Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+                service.addClubMembership(p.getId(), club.getName());
+            }
+
+            statistics.clear();
+            Assertions.assertEquals(size, service.getPersonMembersForClub(club.getName()).size());
+            Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        statistics.clear();
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.getPersonMembersForClub("Missing"));
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetClubMembershipForPersonSingleStatement() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        for (int i = 0; i < 10; i++) {
+            service.saveClub(new Club("Test Club " + i, null));
+            service.addClubMembership(p.getId(), "Test Club " + i);
+        }
+
+        statistics.clear();
+        Assertions.assertEquals(10, service.getClubMembershipForPerson(p.getId()).size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        Person other = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        statistics.clear();
+        Assertions.assertTrue(service.getClubMembershipForPerson(other.getId()).isEmpty());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
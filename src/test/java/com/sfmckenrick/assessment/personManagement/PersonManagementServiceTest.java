@@ -2,14 +2,20 @@ package com.sfmckenrick.assessment.personManagement;
 
 import com.sfmckenrick.assessment.personManagement.exception.AddressNotFoundException;
 import com.sfmckenrick.assessment.personManagement.exception.ClubNotFoundException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidClubExpressionException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidCursorException;
+import com.sfmckenrick.assessment.personManagement.exception.InvalidFieldsException;
 import com.sfmckenrick.assessment.personManagement.exception.PersonNotFoundException;
+import com.sfmckenrick.assessment.personManagement.exception.TooManyIdsException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -36,6 +42,77 @@ public class PersonManagementServiceTest {
         Assertions.assertNotNull(p.getId());
     }
 
+    @Test
+    public void testAddPersons() {
+        Person p1 = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
+        Person p2 = new Person("Jane", null, "Doe", new Date(System.currentTimeMillis()));
+
+        BulkSaveResult result = service.savePersons(Arrays.asList(p1, p2).iterator());
+
+        Assertions.assertEquals(2, result.getSaved());
+        Assertions.assertEquals(0, result.getRejected());
+        Assertions.assertEquals(p1, service.getPersonById(p1.getId()));
+        Assertions.assertEquals(p2, service.getPersonById(p2.getId()));
+    }
+
+    @Test
+    public void testListPersons() {
+        for (int i = 0; i < 5; i++) {
+            service.savePerson(new Person("John" + i, null, "Doe", new Date(System.currentTimeMillis())));
+        }
+
+        PersonPage<PersonView> first = service.getPersons(null, 2);
+        PersonPage<PersonView> second = service.getPersons(first.getNext(), 2);
+        PersonPage<PersonView> last = service.getPersons(second.getNext(), 2);
+
+        Assertions.assertEquals(2, first.getPersons().size());
+        Assertions.assertEquals(2, second.getPersons().size());
+        Assertions.assertEquals(1, last.getPersons().size());
+        Assertions.assertNull(last.getNext());
+        Assertions.assertTrue(first.getPersons().get(1).getId() < second.getPersons().get(0).getId());
+        Assertions.assertThrows(InvalidCursorException.class, () -> service.getPersons("not a cursor", 2));
+    }
+
+    @Test
+    public void testGetPersonsByIds() {
+        Person p1 = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p2 = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        service.getPersonById(p2.getId());
+
+        PersonLookupResult result = service.getPersonsByIds(new long[] {p2.getId(), -1, p1.getId(), p2.getId()});
+        Assertions.assertEquals(2, result.getPersons().size());
+        Assertions.assertEquals(p2.getId(), result.getPersons().get(0).getId());
+        Assertions.assertEquals(p1.getId(), result.getPersons().get(1).getId());
+        Assertions.assertArrayEquals(new long[] {-1}, result.getMissingIds());
+        Assertions.assertThrows(TooManyIdsException.class, () -> service.getPersonsByIds(new long[1001]));
+    }
+
+    @Test
+    public void testGetFields() {
+        for (int i = 0; i < 3; i++) {
+            service.savePerson(new Person("John" + i, null, "Doe", new Date(System.currentTimeMillis())));
+        }
+        Person p = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        Address a = service.saveAddress(new Address("123 Street", "Cityville", State.ALABAMA, "12345", p));
+
+        SparseView person = service.getPersonFields(p.getId(), "firstName");
+        Assertions.assertEquals("Jane", person.getValue(0));
+        SparseView address = service.getAddressFields(a.getId(), "state,personId");
+        Assertions.assertEquals(State.ALABAMA, address.getValue(0));
+        Assertions.assertEquals(p.getId(), address.getValue(1));
+
+        PersonPage<SparseView> first = service.getPersonsFields(null, 3, "lastName");
+        PersonPage<SparseView> last = service.getPersonsFields(first.getNext(), 3, "lastName");
+        Assertions.assertEquals(3, first.getPersons().size());
+        Assertions.assertEquals("Jane", service.getPersonsFields(first.getNext(), 3, "firstName")
+                .getPersons().get(0).getValue(0));
+        Assertions.assertNull(last.getNext());
+
+        Assertions.assertThrows(InvalidFieldsException.class, () -> service.getPersonFields(p.getId(), "ssn"));
+        Assertions.assertThrows(InvalidFieldsException.class, () -> service.getPersonFields(p.getId(), ","));
+        Assertions.assertThrows(PersonNotFoundException.class, () -> service.getPersonFields(-1, "id"));
+    }
+
     @Test
     public void testUpdatePerson() {
         Person p = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
@@ -48,6 +125,61 @@ public class PersonManagementServiceTest {
         Assertions.assertEquals(id, p.getId());
     }
 
+    @Test
+    public void testCachedPersonNotShared() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        p.setMiddleName("something");
+        service.savePerson(p);
+
+        Person stale = service.getPersonById(p.getId());
+        stale.setMiddleName("else");
+        Assertions.assertEquals("something", service.getPersonById(p.getId()).getMiddleName());
+
+        stale.setVersion(stale.getVersion() - 1);
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> service.savePerson(stale));
+        Assertions.assertEquals("something", service.getPersonById(p.getId()).getMiddleName());
+        Assertions.assertEquals("something", service.getPersonsByIds(new long[] {p.getId()}).getPersons().get(0)
+                .getMiddleName());
+    }
+
+    @Test
+    public void testSavePersonStaleVersion() {
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        p.setMiddleName("something");
+        Person updated = service.savePerson(p);
+        Assertions.assertEquals(p.getVersion() + 1, updated.getVersion());
+        Assertions.assertEquals(updated.getVersion(), service.getPersonVersion(p.getId()));
+
+        p.setMiddleName("else");
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> service.savePerson(p));
+        Assertions.assertEquals("something", service.getPersonById(p.getId()).getMiddleName());
+    }
+
+    @Test
+    public void testPatchPerson() {
+        Person p = service.savePerson(new Person("John", "Quincy", "Doe", new Date(System.currentTimeMillis())));
+        PersonPatch patch = new PersonPatch();
+        patch.setFirstName("Jane");
+        patch.setMiddleName(null);
+
+        long version = service.patchPerson(p.getId(), p.getVersion(), patch);
+        Assertions.assertEquals(p.getVersion() + 1, version);
+        Person patched = service.getPersonById(p.getId());
+        Assertions.assertEquals("Jane", patched.getFirstName());
+        Assertions.assertNull(patched.getMiddleName());
+        Assertions.assertEquals("Doe", patched.getLastName());
+        Assertions.assertEquals(version, patched.getVersion());
+
+        Assertions.assertThrows(OptimisticLockingFailureException.class,
+                () -> service.patchPerson(p.getId(), p.getVersion(), patch));
+        Assertions.assertThrows(PersonNotFoundException.class, () -> service.patchPerson(-1, 0, patch));
+
+        PersonPatch removeRequired = new PersonPatch();
+        removeRequired.setLastName(null);
+        Assertions.assertThrows(InvalidFieldsException.class,
+                () -> service.patchPerson(p.getId(), version, removeRequired));
+    }
+
     @Test
     public void testDeletePersonNoAddress() {
         Person p = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
@@ -97,6 +229,28 @@ public class PersonManagementServiceTest {
         Assertions.assertEquals(p, result);
     }
 
+    @Test
+    public void testGetPersonCached() {
+        Person p = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
+        service.savePerson(p);
+
+        long hits = service.getPersonCacheStatistics().getHits();
+        service.getPersonById(p.getId());
+        service.getPersonById(p.getId());
+        Assertions.assertEquals(hits + 1, service.getPersonCacheStatistics().getHits());
+    }
+
+    @Test
+    public void testGetPersonAfterUpdate() {
+        Person p = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
+        service.savePerson(p);
+        Assertions.assertNull(service.getPersonById(p.getId()).getMiddleName());
+
+        p.setMiddleName("something");
+        service.savePerson(p);
+        Assertions.assertEquals("something", service.getPersonById(p.getId()).getMiddleName());
+    }
+
     @Test
     public void testAddAddress() {
         Person p = new Person("John", null, "Doe", new Date(System.currentTimeMillis()));
@@ -227,6 +381,40 @@ public class PersonManagementServiceTest {
         Assertions.assertEquals("new", club.getDescription());
     }
 
+    @Test
+    public void testSaveClubByName() {
+        Club club = service.saveClub(new Club("Test Club", null));
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p.getId(), "Test Club");
+
+        Club updated = service.saveClub(new Club("Test Club", "new"));
+        Assertions.assertEquals(club.getId(), updated.getId());
+        Assertions.assertEquals("new", service.getClubByName("Test Club").getDescription());
+        Assertions.assertTrue(service.isPersonClubMember(p.getId(), "Test Club"));
+
+        updated.setName("Renamed Club");
+        service.saveClub(updated);
+        Assertions.assertTrue(service.isPersonClubMember(p.getId(), "Renamed Club"));
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.isPersonClubMember(p.getId(), "Test Club"));
+    }
+
+    @Test
+    public void testGetClubAfterCreate() {
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.getClubByName("Test Club"));
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.getClubByName("Test Club"));
+
+        Club club = new Club("Test Club", null);
+        service.saveClub(club);
+        Assertions.assertEquals(club, service.getClubByName("Test Club"));
+    }
+
+    @Test
+    public void testNotFoundIsStackless() {
+        PersonNotFoundException e = Assertions.assertThrows(PersonNotFoundException.class,
+                () -> service.getPersonById(-1));
+        Assertions.assertEquals(0, e.getStackTrace().length);
+    }
+
     @Test
     public void testDeleteClub() {
         Club club = new Club("Test Club", null);
@@ -371,6 +559,137 @@ public class PersonManagementServiceTest {
         Assertions.assertTrue(persons.contains(p2));
     }
 
+    @Test
+    public void testQueryClubMembers() {
+        for (String name : new String[] {"Club A", "Club B", "Chess"}) {
+            service.saveClub(new Club(name, null));
+        }
+        Person p1 = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p2 = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p3 = service.savePerson(new Person("Jim", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p1.getId(), "Club A");
+        service.addClubMembership(p1.getId(), "Club B");
+        service.addClubMembership(p2.getId(), "Club A");
+        service.addClubMembership(p2.getId(), "Club B");
+        service.addClubMembership(p2.getId(), "Chess");
+        service.addClubMembership(p3.getId(), "Chess");
+
+        ClubQueryResult result = service.queryClubMembers("\"Club A\" AND \"Club B\" ANDNOT Chess", false);
+        Assertions.assertEquals(1, result.getCount());
+        Assertions.assertArrayEquals(new long[] {p1.getId()}, result.getPersonIds());
+
+        Assertions.assertEquals(3, service.queryClubMembers("\"Club A\" or Chess", true).getCount());
+        Assertions.assertEquals(2, service.queryClubMembers("Chess AND (\"Club B\" OR Chess)", true).getCount());
+        Assertions.assertNull(service.queryClubMembers("Chess", true).getPersonIds());
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.queryClubMembers("Chess AND Missing", true));
+        Assertions.assertThrows(InvalidClubExpressionException.class, () -> service.queryClubMembers("Chess AND", true));
+        Assertions.assertThrows(InvalidClubExpressionException.class, () -> service.queryClubMembers("(Chess", true));
+    }
+
+    @Test
+    public void testQueryClubMembersDepth() {
+        service.saveClub(new Club("Chess", null));
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p.getId(), "Chess");
+
+        String nested = "(".repeat(ClubExpression.MAX_DEPTH) + "Chess" + ")".repeat(ClubExpression.MAX_DEPTH);
+        Assertions.assertEquals(1, service.queryClubMembers(nested, true).getCount());
+        Assertions.assertThrows(InvalidClubExpressionException.class,
+                () -> service.queryClubMembers("(" + nested + ")", true));
+        Assertions.assertThrows(InvalidClubExpressionException.class,
+                () -> service.queryClubMembers("(".repeat(10_000) + "Chess", true));
+
+        String chain = "Chess" + " OR Chess".repeat(100_000);
+        Assertions.assertEquals(1, service.queryClubMembers(chain, true).getCount());
+    }
+
+    @Test
+    public void testGetCoMembers() {
+        for (String name : new String[] {"Club A", "Club B", "Chess"}) {
+            service.saveClub(new Club(name, null));
+        }
+        Person p = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p1 = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p2 = service.savePerson(new Person("Jim", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p3 = service.savePerson(new Person("Joe", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p4 = service.savePerson(new Person("Jill", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p.getId(), "Club A");
+        service.addClubMembership(p.getId(), "Club B");
+        service.addClubMembership(p1.getId(), "Club B");
+        service.addClubMembership(p2.getId(), "Club A");
+        service.addClubMembership(p2.getId(), "Club B");
+        service.addClubMembership(p3.getId(), "Club A");
+        service.addClubMembership(p4.getId(), "Chess");
+
+        List<CoMember> coMembers = service.getCoMembers(p.getId(), 10);
+        Assertions.assertEquals(3, coMembers.size());
+        Assertions.assertEquals(p2.getId(), coMembers.get(0).getPersonId());
+        Assertions.assertEquals(2, coMembers.get(0).getSharedClubs());
+        Assertions.assertEquals(Math.min(p1.getId(), p3.getId()), coMembers.get(1).getPersonId());
+        Assertions.assertEquals(1, coMembers.get(2).getSharedClubs());
+
+        Assertions.assertEquals(1, service.getCoMembers(p.getId(), 1).size());
+        Assertions.assertTrue(service.getCoMembers(p4.getId(), 10).isEmpty());
+        Assertions.assertThrows(PersonNotFoundException.class, () -> service.getCoMembers(-1, 10));
+    }
+
+    @Test
+    public void testApplyMembershipOperations() {
+        service.saveClub(new Club("Club A", null));
+        service.saveClub(new Club("Club B", null));
+        Person p1 = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p2 = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        service.addClubMembership(p2.getId(), "Club B");
+
+        List<MembershipOperationResult> results = service.applyMembershipOperations(Arrays.asList(
+                new MembershipOperation(MembershipAction.ADD, p1.getId(), "Club A"),
+                new MembershipOperation(MembershipAction.ADD, p1.getId(), "Club A"),
+                new MembershipOperation(MembershipAction.REMOVE, p2.getId(), "Club B"),
+                new MembershipOperation(MembershipAction.REMOVE, p2.getId(), "Club A"),
+                new MembershipOperation(MembershipAction.ADD, -1L, "Club A"),
+                new MembershipOperation(MembershipAction.ADD, p1.getId(), "Missing"),
+                new MembershipOperation(null, p1.getId(), "Club A")));
+
+        Assertions.assertEquals(MembershipOutcome.ADDED, results.get(0).getOutcome());
+        Assertions.assertEquals(MembershipOutcome.ALREADY_MEMBER, results.get(1).getOutcome());
+        Assertions.assertEquals(MembershipOutcome.REMOVED, results.get(2).getOutcome());
+        Assertions.assertEquals(MembershipOutcome.NOT_MEMBER, results.get(3).getOutcome());
+        Assertions.assertEquals(MembershipOutcome.PERSON_NOT_FOUND, results.get(4).getOutcome());
+        Assertions.assertEquals(MembershipOutcome.CLUB_NOT_FOUND, results.get(5).getOutcome());
+        Assertions.assertEquals(MembershipOutcome.INVALID, results.get(6).getOutcome());
+
+        Assertions.assertTrue(service.isPersonClubMember(p1.getId(), "Club A"));
+        Assertions.assertFalse(service.isPersonClubMember(p2.getId(), "Club B"));
+        Assertions.assertEquals(1, service.getPersonMembersForClub("Club A").size());
+        Assertions.assertTrue(service.getPersonMembersForClub("Club B").isEmpty());
+    }
+
+    @Test
+    public void testReplaceClubMembers() {
+        service.saveClub(new Club("Test Club", null));
+        Person p1 = service.savePerson(new Person("John", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p2 = service.savePerson(new Person("Jane", null, "Doe", new Date(System.currentTimeMillis())));
+        Person p3 = service.savePerson(new Person("Jim", null, "Doe", new Date(System.currentTimeMillis())));
+
+        RosterReplaceResult first = service.replaceClubMembers("Test Club", new long[] {p1.getId(), p2.getId(), -1});
+        Assertions.assertEquals(2, first.getAdded());
+        Assertions.assertEquals(0, first.getRemoved());
+        Assertions.assertArrayEquals(new long[] {-1}, first.getMissingPersonIds());
+
+        RosterReplaceResult unchanged = service.replaceClubMembers("Test Club", new long[] {p2.getId(), p1.getId()});
+        Assertions.assertEquals(0, unchanged.getAdded());
+        Assertions.assertEquals(0, unchanged.getRemoved());
+
+        RosterReplaceResult changed = service.replaceClubMembers("Test Club", new long[] {p2.getId(), p3.getId()});
+        Assertions.assertEquals(1, changed.getAdded());
+        Assertions.assertEquals(1, changed.getRemoved());
+        Assertions.assertFalse(service.isPersonClubMember(p1.getId(), "Test Club"));
+        Assertions.assertTrue(service.isPersonClubMember(p3.getId(), "Test Club"));
+        Assertions.assertEquals(2, service.getPersonMembersForClub("Test Club").size());
+
+        Assertions.assertThrows(ClubNotFoundException.class, () -> service.replaceClubMembers("Missing", new long[0]));
+    }
+
     @Test
     public void testCascadeDeletePerson() {
         Club club = new Club("Test Club", null);
@@ -389,6 +708,8 @@ public class PersonManagementServiceTest {
         Assertions.assertNotNull(service.getClubByName(club.getName()));
         Assertions.assertThrows(AddressNotFoundException.class, () -> service.getAddressById(a1.getId()));
         Assertions.assertThrows(PersonNotFoundException.class, () -> service.getPersonById(p.getId()));
+        Assertions.assertThrows(PersonNotFoundException.class,
+                () -> service.isPersonClubMember(p.getId(), club.getName()));
     }
 
     @Test
@@ -409,6 +730,9 @@ public class PersonManagementServiceTest {
         Assertions.assertThrows(ClubNotFoundException.class, () -> service.getClubByName(club.getName()));
         Assertions.assertNotNull(service.getAddressById(a1.getId()));
         Assertions.assertNotNull(service.getPersonById(p.getId()));
+        Assertions.assertThrows(ClubNotFoundException.class,
+                () -> service.isPersonClubMember(p.getId(), club.getName()));
+        Assertions.assertTrue(service.getClubMembershipForPerson(p.getId()).isEmpty());
     }
 
 
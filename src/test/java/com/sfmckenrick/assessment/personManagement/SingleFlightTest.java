@@ -0,0 +1,148 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Test Suite to test the SingleFlight load coalescing.
+ */
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    public void testConcurrentLoadsShareResult() throws Exception {
+        SingleFlight<String, Object> flights = new SingleFlight<>(UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+        Object value = new Object();
+
+        List<Object> results = runConcurrently(flights, () -> {
+            loads.incrementAndGet();
+            return value;
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        results.forEach(result -> Assertions.assertSame(value, result));
+    }
+
+    @Test
+    public void testConcurrentLoadsShareException() throws Exception {
+        SingleFlight<String, Object> flights = new SingleFlight<>(UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException();
+
+        List<Object> results = runConcurrently(flights, () -> {
+            loads.incrementAndGet();
+            throw failure;
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        results.forEach(result -> Assertions.assertSame(failure, result));
+    }
+
+    @Test
+    public void testConcurrentLoadsReceiveCopies() throws Exception {
+        SingleFlight<String, Object> flights = new SingleFlight<>(value -> new ArrayList<>((List<?>) value));
+        AtomicInteger loads = new AtomicInteger();
+        List<String> value = List.of("a", "b");
+
+        List<Object> results = runConcurrently(flights, () -> {
+            loads.incrementAndGet();
+            return value;
+        });
+
+        Assertions.assertEquals(1, loads.get());
+        for (int i = 0; i < results.size(); i++) {
+            Assertions.assertEquals(value, results.get(i));
+            Assertions.assertNotSame(value, results.get(i));
+            for (int j = 0; j < i; j++) {
+                Assertions.assertNotSame(results.get(j), results.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testCompletedLoadIsNotRetained() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+        flights.execute("key", loads::incrementAndGet);
+        flights.execute("key", loads::incrementAndGet);
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    /**
+     * Runs CALLERS concurrent loads of one key and collects their results, or the exceptions they threw. The
+     * first load is held inside its loader until every other caller is parked waiting on it, so each of them is
+     * sure to have joined it rather than started a load of its own.
+     */
+    private List<Object> runConcurrently(SingleFlight<String, Object> flights, Supplier<Object> loader)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Object> held = () -> {
+            started.countDown();
+            await(release);
+            return loader.get();
+        };
+
+        List<FutureTask<Object>> tasks = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            FutureTask<Object> task = new FutureTask<>(() -> {
+                try {
+                    return flights.execute("key", held);
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            });
+            tasks.add(task);
+            threads.add(new Thread(task));
+        }
+
+        threads.get(0).start();
+        await(started);
+        for (Thread follower : threads.subList(1, CALLERS)) {
+            follower.start();
+        }
+        awaitParked(threads.subList(1, CALLERS));
+        release.countDown();
+
+        List<Object> results = new ArrayList<>();
+        for (FutureTask<Object> task : tasks) {
+            results.add(task.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    /**
+     * Waits until every thread is parked. A follower parks only once it has joined the load in flight.
+     */
+    private static void awaitParked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                Assertions.assertTrue(System.nanoTime() < deadline, "Callers did not join the flight");
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS), "The load was not released");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
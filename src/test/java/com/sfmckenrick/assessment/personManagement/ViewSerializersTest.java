@@ -0,0 +1,51 @@
+package com.sfmckenrick.assessment.personManagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Test Suite that checks the hand written view serializers write the same JSON as the default bean serializers.
+ */
+@SpringBootTest
+public class ViewSerializersTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ObjectMapper reflective = new ObjectMapper()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void testPersonViewMatchesDefault() throws Exception {
+        PersonView person = new PersonView(42L, "John", null, "Doe \"Jr\"", new Date(1234567890123L), 3L);
+        Assertions.assertEquals(reflective.writeValueAsString(person), objectMapper.writeValueAsString(person));
+    }
+
+    @Test
+    public void testAddressViewMatchesDefault() throws Exception {
+        AddressView address = new AddressView(7L, "123 Street", "Cityville", State.DISTRICT_OF_COLUMBIA, "12345", 42L);
+        Assertions.assertEquals(reflective.writeValueAsString(address), objectMapper.writeValueAsString(address));
+    }
+
+    @Test
+    public void testTimestampsHonoured() throws Exception {
+        PersonView person = new PersonView(42L, "John", null, "Doe", new Date(1234567890123L));
+        ObjectMapper timestamps = objectMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Assertions.assertTrue(timestamps.writeValueAsString(person).contains("\"dateOfBirth\":1234567890123"));
+    }
+
+    @Test
+    public void testTimeZoneHonoured() throws Exception {
+        PersonView person = new PersonView(42L, "John", null, "Doe", new Date(1234567890123L));
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        Assertions.assertEquals(reflective.copy().setTimeZone(zone).writeValueAsString(person),
+                objectMapper.copy().setTimeZone(zone).writeValueAsString(person));
+    }
+}
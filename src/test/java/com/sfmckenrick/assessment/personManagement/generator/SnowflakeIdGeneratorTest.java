@@ -0,0 +1,80 @@
+package com.sfmckenrick.assessment.personManagement.generator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test Suite to test the SnowflakeIdGenerator.
+ */
+public class SnowflakeIdGeneratorTest {
+
+    @Test
+    public void testIdsIncrease() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, System::currentTimeMillis);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100000; i++) {
+            long next = generator.nextId();
+            Assertions.assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testIdsIncreaseWhenClockMovesBackwards() {
+        AtomicLong time = new AtomicLong(SnowflakeIdGenerator.EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, time::get);
+        long first = generator.nextId();
+        time.addAndGet(-500);
+        Assertions.assertTrue(generator.nextId() > first);
+    }
+
+    @Test
+    public void testCounterOverflowBorrowsNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> SnowflakeIdGenerator.EPOCH + 1000);
+        long previous = generator.nextId();
+        for (int i = 0; i < 3 * (1 << SnowflakeIdGenerator.COUNTER_BITS); i++) {
+            long next = generator.nextId();
+            Assertions.assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testNodeIsEncoded() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE, System::currentTimeMillis);
+        long id = generator.nextId();
+        Assertions.assertEquals(SnowflakeIdGenerator.MAX_NODE,
+                (id >>> SnowflakeIdGenerator.COUNTER_BITS) & SnowflakeIdGenerator.MAX_NODE);
+        Assertions.assertTrue(id > 0);
+    }
+
+    @Test
+    public void testInvalidNode() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE + 1, System::currentTimeMillis));
+    }
+
+    @Test
+    public void testConcurrentIdsAreUnique() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(80000, ids.size());
+    }
+}